@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Startup time and resident memory of each fast-startup build against the plain JVM.
+#
+#   mvn -Paot,cds package -DskipTests       # jvm, aot, cds and aot+cds
+#   mvn -Pnative package -DskipTests        # native (GraalVM JDK; rebuilds the jar too)
+#   scripts/startup-benchmark.sh [runs] [-- application args]
+#
+# Each mode is started `runs` times (default 5). Ready is the first HTTP answer on the port,
+# whatever its status; RSS is read at that moment. Startup creates the Mongo indexes, so without
+# a reachable database pass -- --spring.data.mongodb.auto-index-creation=false (or build with
+# the memory profile). Modes whose artifacts are missing are skipped.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift $(( $# > 0 ? 1 : 0 ))
+[[ "${1:-}" == "--" ]] && shift
+PORT=${PORT:-18084}
+JAR=target/skilltracker-0.0.1-SNAPSHOT.jar
+CDS_DIR=target/cds
+APP_ARGS=(--server.port="$PORT" "$@")
+
+now_ms() { date +%s%3N; }
+
+rss_kb() { awk '/^VmRSS:/ { print $2 }' "/proc/$1/status" 2>/dev/null || ps -o rss= -p "$1"; }
+
+# Runs one start, prints "<milliseconds to first answer> <rss kB>"
+measure() {
+    local start pid ms rss
+    start=$(now_ms)
+    "$@" "${APP_ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    # An unauthenticated request is answered by the security filters without touching Mongo
+    until curl -s -o /dev/null "http://localhost:$PORT/skill-tracker/login"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "process exited before answering: $*" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    ms=$(( $(now_ms) - start ))
+    rss=$(rss_kb "$pid")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$ms $rss"
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local total_ms=0 total_rss=0 result
+    for _ in $(seq "$RUNS"); do
+        result=$(measure "$@") || return 0
+        total_ms=$(( total_ms + ${result% *} ))
+        total_rss=$(( total_rss + ${result#* } ))
+    done
+    printf '%-10s %10d %10d\n' "$name" $(( total_ms / RUNS )) $(( total_rss / RUNS / 1024 ))
+}
+
+aot_built() { [[ $(unzip -l "$1" 2> /dev/null) == *__ApplicationContextInitializer* ]]; }
+
+printf '%-10s %10s %10s\n' mode ready-ms rss-mb
+if [[ -f $JAR ]]; then
+    run_mode jvm java -jar "$JAR"
+    aot_built "$JAR" && run_mode aot java -Dspring.aot.enabled=true -jar "$JAR"
+fi
+if [[ -f $CDS_DIR/application.jsa ]]; then
+    if aot_built "$CDS_DIR/$(basename "$JAR")"; then
+        run_mode aot+cds java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true -jar "$CDS_DIR/$(basename "$JAR")"
+    else
+        run_mode cds java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -jar "$CDS_DIR/$(basename "$JAR")"
+    fi
+fi
+[[ -x target/skilltracker ]] && run_mode native target/skilltracker
+exit 0
@@ -0,0 +1,44 @@
+package com.example.skilltracker.jmh;
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.service.CustomUserDetails;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomUserDetails#getAuthorities()} runs on every authorization check of every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthoritiesBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int roles;
+
+    private CustomUserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        List<String> names = new ArrayList<>(roles);
+        for (int i = 0; i < roles; i++) {
+            names.add("ROLE_" + i);
+        }
+        User user = new User();
+        user.setId(new ObjectId());
+        user.setUsername("bench");
+        user.setRoles(names);
+        userDetails = new CustomUserDetails(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userDetails.getAuthorities();
+    }
+}
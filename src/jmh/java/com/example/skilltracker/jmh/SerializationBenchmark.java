@@ -0,0 +1,75 @@
+package com.example.skilltracker.jmh;
+
+import com.example.skilltracker.config.JacksonConfig;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips through the application's ObjectMapper (built from {@link JacksonConfig},
+ * so ObjectIds go through {@code ObjectIdSerializer}) on users and skill lists of growing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int skills;
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private List<Skill> skillList;
+    private ObjectId[] ids;
+    private String skillListJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        objectMapper = builder.build();
+
+        user = new User();
+        user.setId(new ObjectId());
+        user.setUsername("bench");
+        user.setRoles(List.of("ROLE_USER", "ROLE_ADMIN"));
+        skillList = new ArrayList<>(skills);
+        ids = new ObjectId[skills];
+        for (int i = 0; i < skills; i++) {
+            skillList.add(new Skill(new ObjectId(), "skill-" + i, i % 2 == 0 ? Proficiency.EXPERT : Proficiency.BEGINNER, user.getId()));
+            ids[i] = skillList.get(i).getId();
+        }
+        user.setSkills(skillList);
+        skillListJson = objectMapper.writeValueAsString(skillList);
+    }
+
+    @Benchmark
+    public byte[] writeUserWithSkills() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeSkillList() throws Exception {
+        return objectMapper.writeValueAsBytes(skillList);
+    }
+
+    @Benchmark
+    public List<Skill> readSkillList() throws Exception {
+        return objectMapper.readValue(skillListJson, new TypeReference<List<Skill>>() {});
+    }
+
+    // ObjectIdSerializer on its own, one array element per id
+    @Benchmark
+    public byte[] writeObjectIds() throws Exception {
+        return objectMapper.writeValueAsBytes(ids);
+    }
+}
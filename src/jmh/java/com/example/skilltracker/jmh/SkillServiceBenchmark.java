@@ -0,0 +1,92 @@
+package com.example.skilltracker.jmh;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.SkilltrackerApplication;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillPage;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.service.SkillService;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SkillService} against the in-process Mongo server the tests use, through the full
+ * Spring context. With {@code cacheEntries=0} every read goes to Mongo; otherwise reads after
+ * the first are served by the skill-list cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SkillServiceBenchmark {
+
+    private static final int SKILLS = 200;
+
+    @Param({"0", "5000"})
+    public int cacheEntries;
+
+    private ConfigurableApplicationContext context;
+    private SkillService skillService;
+    private ObjectId userId;
+    private ObjectId skillId;
+    private long counter;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SkilltrackerApplication.class, EmbeddedMongoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run("--skilltracker.cache.skills.max-entries=" + cacheEntries,
+                        "--skilltracker.cache.users.max-entries=" + cacheEntries,
+                        "--logging.level.root=WARN", "--logging.level.org.springframework.security=WARN");
+        skillService = context.getBean(SkillService.class);
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        User user = new User();
+        user.setUsername("bench");
+        user.setRoles(List.of("ROLE_USER"));
+        userId = mongoTemplate.insert(user).getId();
+        for (int i = 0; i < SKILLS; i++) {
+            skillService.saveSkill(userId, new Skill(null, "skill-" + i, Proficiency.BEGINNER, null));
+        }
+        skillId = skillService.getAll(userId).get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Skill> getAll() {
+        return skillService.getAll(userId);
+    }
+
+    @Benchmark
+    public SkillPage getPageByName() {
+        return skillService.getPage(userId, 50, null, "name", null);
+    }
+
+    @Benchmark
+    public long getVersion() {
+        return skillService.getVersion(userId);
+    }
+
+    @Benchmark
+    public boolean updateSkill() {
+        return skillService.updateSkill(userId, skillId, new Skill(null, null, Proficiency.values()[(int) (counter++ & 3)], null));
+    }
+
+    // Create and delete in pairs so the list keeps its size across iterations
+    @Benchmark
+    public void saveAndDeleteSkill() {
+        Skill skill = new Skill(null, "transient", Proficiency.BEGINNER, null);
+        skillService.saveSkill(userId, skill);
+        skillService.deleteSkillById(skill.getId(), userId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.skilltracker.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counts and latencies of one endpoint, or of all endpoints within one report interval.
+ */
+final class EndpointStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    // "status:503", "timeout", "io", ...
+    private final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+
+    void success(long micros, int status) {
+        latency.record(micros);
+        if (status == 304) {
+            notModified.increment();
+        }
+    }
+
+    void failure(long micros, String cause) {
+        latency.record(micros);
+        errors.increment();
+        errorsByCause.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return latency.count();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    long notModified() {
+        return notModified.sum();
+    }
+
+    Map<String, Long> errorsByCause() {
+        Map<String, Long> causes = new TreeMap<>();
+        errorsByCause.forEach((cause, count) -> causes.put(cause, count.sum()));
+        return causes;
+    }
+
+    double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.skilltracker.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Collects every request outcome twice: per endpoint for the whole run, and across endpoints for
+ * the current report interval, which {@link #nextInterval()} closes.
+ */
+final class LoadRecorder {
+
+    static final List<String> ENDPOINTS = List.of("login", "fetchSkills", "createSkill", "updateSkill", "deleteSkill");
+
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+    private final AtomicReference<EndpointStats> interval = new AtomicReference<>(new EndpointStats());
+
+    LoadRecorder() {
+        ENDPOINTS.forEach(endpoint -> endpoints.put(endpoint, new EndpointStats()));
+    }
+
+    void success(String endpoint, long micros, int status) {
+        endpoints.get(endpoint).success(micros, status);
+        interval.get().success(micros, status);
+    }
+
+    void failure(String endpoint, long micros, String cause) {
+        endpoints.get(endpoint).failure(micros, cause);
+        interval.get().failure(micros, cause);
+    }
+
+    /**
+     * Starts a new interval and returns the one that just ended. A request finishing right at
+     * the boundary may land in either.
+     */
+    EndpointStats nextInterval() {
+        return interval.getAndSet(new EndpointStats());
+    }
+
+    Map<String, EndpointStats> endpoints() {
+        return endpoints;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.skilltracker.loadtest;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.SkilltrackerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays the traffic of the web page ({@code static/app.js}) against the API and reports
+ * throughput, latency percentiles and error rates per endpoint as JSON, plus a timeline of the
+ * whole run so the point where throughput stops following the user count is visible.
+ *
+ * Run with {@code mvn -Ploadtest verify}. Without {@code loadtest.base-url} the application is
+ * started in this JVM on a random port, backed by the in-process Mongo server the tests use or,
+ * with {@code -Dloadtest.storage=memory}, by the in-memory engine. Other settings, all system
+ * properties:
+ * <ul>
+ *     <li>{@code loadtest.users} (100): accounts, and what percentages in the ramp refer to</li>
+ *     <li>{@code loadtest.ramp}: stages as in {@link RampProfile}</li>
+ *     <li>{@code loadtest.poll-seconds} (5): skill list refresh interval of each session</li>
+ *     <li>{@code loadtest.write-ratio} (0.05): share of polls followed by a create, update or delete</li>
+ *     <li>{@code loadtest.seed-skills} (5): skills given to each account before the run</li>
+ *     <li>{@code loadtest.report-seconds} (10): timeline resolution</li>
+ *     <li>{@code loadtest.app-args}: extra arguments for the started application, e.g.
+ *     {@code --spring.profiles.active=virtual}</li>
+ *     <li>{@code loadtest.max-error-rate} (1): exit with status 1 above this overall error rate</li>
+ * </ul>
+ * An external target must run with {@code skilltracker.ratelimit.enabled=false}, since every
+ * session logs in from the same address.
+ *
+ * Sessions run on virtual threads on Java 21 and later, and on platform threads before that.
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_RAMP = "15s:25%,30s:25%,15s:50%,30s:50%,15s:100%,30s:100%";
+    private static final String PASSWORD = "load-test-password";
+    private static final long TICK_MILLIS = 100;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 100);
+        RampProfile ramp = RampProfile.parse(System.getProperty("loadtest.ramp", DEFAULT_RAMP), users);
+        long pollMillis = Math.round(Double.parseDouble(System.getProperty("loadtest.poll-seconds", "5")) * 1000);
+        double writeRatio = Double.parseDouble(System.getProperty("loadtest.write-ratio", "0.05"));
+        int seedSkills = Integer.getInteger("loadtest.seed-skills", 5);
+        long reportMillis = Long.getLong("loadtest.report-seconds", 10) * 1000;
+        Duration timeout = Duration.ofSeconds(Long.getLong("loadtest.timeout-seconds", 30));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "1"));
+        String storage = System.getProperty("loadtest.storage", "embedded-mongo");
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json"));
+        String baseUrl = System.getProperty("loadtest.base-url", "").replaceAll("/$", "");
+
+        ConfigurableApplicationContext app = null;
+        if (baseUrl.isEmpty()) {
+            app = startApplication(storage, System.getProperty("loadtest.app-args", ""));
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        } else {
+            storage = "external";
+        }
+
+        ExecutorService sessions = threadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder().executor(sessions).connectTimeout(timeout).build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        int accounts = Math.max(users, ramp.peakUsers());
+        String prefix = "load-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+        int status = 0;
+        try {
+            long seedStart = System.nanoTime();
+            seed(client, sessions, baseUrl, prefix, accounts, seedSkills);
+            System.out.printf("loadtest seeded %d accounts in %.1fs, running %ds against %s%n", accounts,
+                    (System.nanoTime() - seedStart) / 1e9, ramp.totalMillis() / 1000, baseUrl);
+
+            LoadRecorder recorder = new LoadRecorder();
+            Deque<VirtualUser> active = new ArrayDeque<>();
+            List<Map<String, Object>> timeline = new ArrayList<>();
+            long start = System.currentTimeMillis();
+            long intervalStart = start;
+            long elapsed;
+            while ((elapsed = System.currentTimeMillis() - start) < ramp.totalMillis()) {
+                int target = ramp.usersAt(elapsed);
+                while (active.size() < target) {
+                    VirtualUser user = new VirtualUser(client, objectMapper, recorder, baseUrl,
+                            prefix + active.size(), PASSWORD, pollMillis, writeRatio, timeout);
+                    active.push(user);
+                    sessions.execute(user);
+                }
+                while (active.size() > target) {
+                    active.pop().stop();
+                }
+                long now = System.currentTimeMillis();
+                if (now - intervalStart >= reportMillis) {
+                    timeline.add(interval(recorder.nextInterval(), now - start, now - intervalStart, active.size()));
+                    intervalStart = now;
+                }
+                Thread.sleep(TICK_MILLIS);
+            }
+            active.forEach(VirtualUser::stop);
+            long end = System.currentTimeMillis();
+            if (end > intervalStart) {
+                timeline.add(interval(recorder.nextInterval(), end - start, end - intervalStart, active.size()));
+            }
+            double seconds = (end - start) / 1000.0;
+
+            Map<String, Object> report = report(recorder, timeline, seconds, baseUrl, storage, users, ramp, pollMillis, writeRatio);
+            ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            String json = writer.writeValueAsString(report);
+            System.out.println(json);
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, json);
+            System.out.println("loadtest report written to " + output.toAbsolutePath());
+
+            double errorRate = recorder.endpoints().values().stream().mapToLong(EndpointStats::errors).sum()
+                    / (double) Math.max(1, recorder.endpoints().values().stream().mapToLong(EndpointStats::requests).sum());
+            if (errorRate > maxErrorRate) {
+                System.err.printf("loadtest error rate %.4f is above the allowed %.4f%n", errorRate, maxErrorRate);
+                status = 1;
+            }
+        } finally {
+            sessions.shutdownNow();
+            sessions.awaitTermination(timeout.toSeconds(), TimeUnit.SECONDS);
+            if (app != null) {
+                app.close();
+            }
+        }
+        // The HttpClient's selector thread is not a daemon before Java 21
+        System.exit(status);
+    }
+
+    private static ConfigurableApplicationContext startApplication(String storage, String appArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--skilltracker.ratelimit.enabled=false",
+                "--logging.level.root=WARN", "--logging.level.org.springframework.security=WARN",
+                "--logging.level.de.bwaldvogel=ERROR"));
+        Arrays.stream(appArgs.trim().split("\\s+")).filter(arg -> !arg.isEmpty()).forEach(args::add);
+        SpringApplicationBuilder builder = switch (storage) {
+            case "memory" -> new SpringApplicationBuilder(SkilltrackerApplication.class).profiles("memory");
+            case "embedded-mongo" -> new SpringApplicationBuilder(SkilltrackerApplication.class, EmbeddedMongoConfiguration.class);
+            default -> throw new IllegalArgumentException("loadtest.storage must be embedded-mongo or memory, not " + storage);
+        };
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    // Registers the accounts and gives each a few skills; none of this is recorded
+    private static void seed(HttpClient client, ExecutorService sessions, String baseUrl, String prefix,
+                             int accounts, int skills) {
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> seeding = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            String username = prefix + i;
+            seeding.add(CompletableFuture.runAsync(() -> {
+                try {
+                    HttpResponse<String> registered = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/skill-tracker/register"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                            .build(), HttpResponse.BodyHandlers.ofString());
+                    String basic = "Basic " + Base64.getEncoder().encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+                    HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/skill-tracker/login"))
+                            .header("Authorization", basic).GET().build(), HttpResponse.BodyHandlers.ofString());
+                    if (registered.statusCode() != 201 || login.statusCode() != 200) {
+                        failed.incrementAndGet();
+                        return;
+                    }
+                    String userId = login.body().replace("\"", "").trim();
+                    String token = login.headers().firstValue("X-Auth-Token").orElseThrow();
+                    for (int s = 0; s < skills; s++) {
+                        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/skill-tracker/skill/id/" + userId))
+                                .header("Content-Type", "application/json")
+                                .header("Authorization", "Bearer " + token)
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"seed-" + s + "\",\"proficiency\":\"Intermediate\"}"))
+                                .build(), HttpResponse.BodyHandlers.discarding());
+                    }
+                } catch (IOException e) {
+                    failed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, sessions));
+        }
+        CompletableFuture.allOf(seeding.toArray(CompletableFuture[]::new)).join();
+        if (failed.get() > 0) {
+            throw new IllegalStateException(failed.get() + " of " + accounts + " accounts could not be set up");
+        }
+    }
+
+    private static Map<String, Object> interval(EndpointStats stats, long elapsedMillis, long intervalMillis, int users) {
+        Map<String, Object> point = new LinkedHashMap<>();
+        point.put("second", elapsedMillis / 1000);
+        point.put("users", users);
+        point.put("requests", stats.requests());
+        point.put("throughput", round(stats.requests() * 1000.0 / intervalMillis));
+        point.put("errorRate", round(stats.errorRate()));
+        point.put("p50Ms", round(stats.latency().percentileMillis(0.50)));
+        point.put("p99Ms", round(stats.latency().percentileMillis(0.99)));
+        return point;
+    }
+
+    private static Map<String, Object> report(LoadRecorder recorder, List<Map<String, Object>> timeline, double seconds,
+                                              String baseUrl, String storage, int users, RampProfile ramp,
+                                              long pollMillis, double writeRatio) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("ramp", ramp.stages().stream().map(stage -> stage.millis() / 1000.0 + "s:" + stage.users()).toList());
+        config.put("pollSeconds", pollMillis / 1000.0);
+        config.put("writeRatio", writeRatio);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<String, EndpointStats> entry : recorder.endpoints().entrySet()) {
+            EndpointStats stats = entry.getValue();
+            requests += stats.requests();
+            errors += stats.errors();
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", stats.requests());
+            endpoint.put("throughput", round(stats.requests() / seconds));
+            endpoint.put("errors", stats.errors());
+            endpoint.put("errorRate", round(stats.errorRate()));
+            endpoint.put("errorsByCause", stats.errorsByCause());
+            if (entry.getKey().equals("fetchSkills")) {
+                endpoint.put("notModified", stats.notModified());
+            }
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50", round(stats.latency().percentileMillis(0.50)));
+            latency.put("p99", round(stats.latency().percentileMillis(0.99)));
+            latency.put("p999", round(stats.latency().percentileMillis(0.999)));
+            latency.put("max", round(stats.latency().maxMillis()));
+            latency.put("mean", round(stats.latency().meanMillis()));
+            endpoint.put("latencyMs", latency);
+            endpoints.put(entry.getKey(), endpoint);
+        }
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", requests);
+        totals.put("throughput", round(requests / seconds));
+        totals.put("errors", errors);
+        totals.put("errorRate", requests == 0 ? 0.0 : round((double) errors / requests));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().minusMillis((long) (seconds * 1000)).toString());
+        report.put("target", baseUrl);
+        report.put("storage", storage);
+        report.put("java", Runtime.version().toString());
+        report.put("virtualThreads", Runtime.version().feature() >= 21);
+        report.put("durationSeconds", round(seconds));
+        report.put("config", config);
+        report.put("totals", totals);
+        report.put("endpoints", endpoints);
+        report.put("timeline", timeline);
+        return report;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() when the JDK has it; the build targets Java 17
+    private static ExecutorService threadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.skilltracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How many virtual users should be active over time, as a list of stages. Each stage moves
+ * linearly from where the previous one ended to its own target over its duration, so
+ * {@code 30s:100,60s:100,30s:0} ramps up to 100 users, holds, and ramps down again.
+ * A target ending in {@code %} is a share of the configured user count, which lets one step
+ * profile be reused at every scale: {@code 15s:25%,30s:25%,15s:50%,30s:50%,15s:100%,30s:100%}.
+ */
+final class RampProfile {
+
+    record Stage(long millis, int users) {
+    }
+
+    private final List<Stage> stages;
+
+    private RampProfile(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a malformed stage
+     */
+    static RampProfile parse(String spec, int maxUsers) {
+        List<Stage> stages = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Ramp stage '" + part + "' is not <duration>:<users>");
+            }
+            String target = fields[1].trim();
+            int users = target.endsWith("%")
+                    ? (int) Math.round(maxUsers * Double.parseDouble(target.substring(0, target.length() - 1)) / 100)
+                    : Integer.parseInt(target);
+            if (users < 0) {
+                throw new IllegalArgumentException("Ramp stage '" + part + "' has a negative user count");
+            }
+            stages.add(new Stage(millis(fields[0].trim()), users));
+        }
+        return new RampProfile(List.copyOf(stages));
+    }
+
+    // 90, 90s, 2m or 500ms
+    private static long millis(String duration) {
+        String value = duration.toLowerCase(Locale.ROOT);
+        if (value.endsWith("ms")) {
+            return Long.parseLong(value.substring(0, value.length() - 2));
+        }
+        if (value.endsWith("m")) {
+            return Long.parseLong(value.substring(0, value.length() - 1)) * 60_000;
+        }
+        if (value.endsWith("s")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Long.parseLong(value) * 1000;
+    }
+
+    int usersAt(long elapsedMillis) {
+        int from = 0;
+        long start = 0;
+        for (Stage stage : stages) {
+            if (elapsedMillis < start + stage.millis()) {
+                double progress = (double) (elapsedMillis - start) / stage.millis();
+                return (int) Math.round(from + (stage.users() - from) * progress);
+            }
+            from = stage.users();
+            start += stage.millis();
+        }
+        return from;
+    }
+
+    long totalMillis() {
+        return stages.stream().mapToLong(Stage::millis).sum();
+    }
+
+    int peakUsers() {
+        return stages.stream().mapToInt(Stage::users).max().orElse(0);
+    }
+
+    List<Stage> stages() {
+        return stages;
+    }
+}
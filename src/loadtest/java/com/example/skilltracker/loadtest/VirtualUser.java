@@ -0,0 +1,195 @@
+package com.example.skilltracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One browser session of {@code static/app.js}: log in with Basic auth and keep the returned
+ * token, then poll the skill list every few seconds with the last ETag, and now and then add,
+ * change or delete a skill followed by an immediate refresh, as the page does after each write.
+ * A renewed token on any response replaces the held one; a token that lapsed anyway is
+ * replaced by logging in again.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced", "Expert"};
+    // Past this many skills a session deletes instead of adding, so lists stay a realistic size
+    private static final int MAX_SKILLS = 50;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final LoadRecorder recorder;
+    private final String baseUrl;
+    private final String basicAuth;
+    private final long pollMillis;
+    private final double writeRatio;
+    private final Duration timeout;
+
+    private volatile boolean running = true;
+    private volatile Thread thread;
+
+    private String userId;
+    private String token;
+    private long tokenExpiresAt;
+    private String etag;
+    private List<String> skillIds = new ArrayList<>();
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, LoadRecorder recorder, String baseUrl,
+                String username, String password, long pollMillis, double writeRatio, Duration timeout) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+        this.baseUrl = baseUrl;
+        this.basicAuth = "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.pollMillis = pollMillis;
+        this.writeRatio = writeRatio;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Ends the session; a request in flight is abandoned and not recorded.
+     */
+    void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            // Sessions start spread over one poll interval instead of all polling in step
+            Thread.sleep(random.nextLong(pollMillis));
+            while (running) {
+                long next = System.currentTimeMillis() + pollMillis;
+                if (token == null || System.currentTimeMillis() >= tokenExpiresAt) {
+                    login();
+                }
+                if (userId != null) {
+                    fetchSkills();
+                    if (random.nextDouble() < writeRatio) {
+                        write(random);
+                        fetchSkills();
+                    }
+                }
+                Thread.sleep(Math.max(0, next - System.currentTimeMillis()));
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        }
+    }
+
+    private void login() throws InterruptedException {
+        HttpResponse<String> response = call("login", request("/skill-tracker/login")
+                .header("Authorization", basicAuth).GET());
+        if (response == null || response.statusCode() != 200) {
+            return;
+        }
+        userId = response.body().replace("\"", "").trim();
+    }
+
+    private void fetchSkills() throws InterruptedException {
+        HttpRequest.Builder builder = authorized("/skill-tracker/skill/id/" + userId).GET();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        HttpResponse<String> response = call("fetchSkills", builder);
+        if (response == null || response.statusCode() != 200) {
+            return;
+        }
+        etag = response.headers().firstValue("ETag").orElse(null);
+        try {
+            List<String> ids = new ArrayList<>();
+            for (JsonNode skill : objectMapper.readTree(response.body())) {
+                ids.add(skill.path("id").asText());
+            }
+            skillIds = ids;
+        } catch (IOException e) {
+            // A body that is not a list keeps the previous ids
+        }
+    }
+
+    private void write(ThreadLocalRandom random) throws InterruptedException {
+        int action = random.nextInt(10);
+        if (skillIds.size() >= MAX_SKILLS) {
+            action = 9;
+        } else if (skillIds.isEmpty()) {
+            action = 0;
+        }
+        String level = LEVELS[random.nextInt(LEVELS.length)];
+        if (action < 5) {
+            call("createSkill", authorized("/skill-tracker/skill/id/" + userId)
+                    .POST(json("{\"name\":\"skill-" + random.nextInt(1000) + "\",\"proficiency\":\"" + level + "\"}")));
+            return;
+        }
+        String skillId = skillIds.get(random.nextInt(skillIds.size()));
+        String path = "/skill-tracker/skill/userId/" + userId + "/skillId/" + skillId;
+        if (action < 8) {
+            call("updateSkill", authorized(path).PUT(json("{\"proficiency\":\"" + level + "\"}")));
+        } else {
+            call("deleteSkill", authorized(path).DELETE());
+        }
+    }
+
+    // Null when the request failed before a response came back
+    private HttpResponse<String> call(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            long micros = (System.nanoTime() - start) / 1000;
+            if (response.statusCode() >= 400) {
+                recorder.failure(endpoint, micros, "status:" + response.statusCode());
+                if (response.statusCode() == 401) {
+                    token = null;
+                }
+            } else {
+                recorder.success(endpoint, micros, response.statusCode());
+                response.headers().firstValue("X-Auth-Token").ifPresent(renewed -> {
+                    long ttl = response.headers().firstValue("X-Auth-Token-Expires-In").map(Long::parseLong).orElse(0L);
+                    token = renewed;
+                    tokenExpiresAt = System.currentTimeMillis() + Math.max(ttl - 30, 0) * 1000;
+                });
+            }
+            return response;
+        } catch (HttpTimeoutException e) {
+            recorder.failure(endpoint, (System.nanoTime() - start) / 1000, "timeout");
+        } catch (IOException e) {
+            if (!running) {
+                throw new InterruptedException();
+            }
+            recorder.failure(endpoint, (System.nanoTime() - start) / 1000, "io");
+        }
+        return null;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        // Sent on every call, like the page does
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.skilltracker.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small thread-safe cache with a hard size limit and per-entry time-to-live.
+ * Expired entries are dropped lazily on read and in bulk whenever the cache is full.
+ * Keeps hit, miss and eviction counters so callers can report on effectiveness.
+ *
+ * {@link #get(Object, Function)} makes it a read-through cache. A value loaded while its key
+ * was invalidated is returned but not stored, so a slow load can never put pre-write data back
+ * after the write invalidated it. Invalidations are counted per key (in a fixed number of
+ * stripes), so a write to one key does not cost the loads of others their result; only
+ * {@link #invalidateIf} and {@link #invalidateAll} void every load in flight.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private static final int GENERATION_STRIPES = 256;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLongArray keyInvalidations = new AtomicLongArray(GENERATION_STRIPES);
+    // Generation-checked puts share the lock, invalidations take it alone, so no put can slip in between
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+
+    public BoundedTtlCache(int maxEntries, long ttl, TimeUnit unit) {
+        this(maxEntries, ttl, unit, System::nanoTime);
+    }
+
+    BoundedTtlCache(int maxEntries, long ttl, TimeUnit unit, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0 && ttlNanos > 0;
+    }
+
+    public V get(K key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Whether a live entry exists, without touching the hit and miss counters.
+     */
+    public boolean containsKey(K key) {
+        Entry<V> entry = isEnabled() ? entries.get(key) : null;
+        return entry != null && !entry.isExpired(clock.getAsLong());
+    }
+
+    /**
+     * Returns the cached value or loads, caches and returns it. Null results are not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long generation = generation(key);
+        value = loader.apply(key);
+        if (value != null) {
+            putUnlessInvalidatedSince(key, value, generation);
+        }
+        return value;
+    }
+
+    /**
+     * Changes whenever the key may have been invalidated. Loads that cannot go through
+     * {@link #get(Object, Function)}, such as asynchronous ones, read it before loading and store
+     * with {@link #putUnlessInvalidatedSince}.
+     */
+    public long generation(K key) {
+        // Both counters only grow, so the sum is unchanged exactly when neither moved
+        return invalidations.get() + keyInvalidations.get(stripe(key));
+    }
+
+    /**
+     * Stores the value only if the key was not invalidated since {@code generation} was read.
+     */
+    public void putUnlessInvalidatedSince(K key, V value, long generation) {
+        invalidationLock.readLock().lock();
+        try {
+            if (generation(key) == generation) {
+                put(key, value);
+            }
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom(now);
+        }
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+    }
+
+    public void invalidate(K key) {
+        invalidationLock.writeLock().lock();
+        try {
+            keyInvalidations.incrementAndGet(stripe(key));
+            entries.remove(key);
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    // Keys still loading cannot be tested against the predicate, so every load in flight is voided
+    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        invalidationLock.writeLock().lock();
+        try {
+            invalidations.incrementAndGet();
+            entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        invalidationLock.writeLock().lock();
+        try {
+            invalidations.incrementAndGet();
+            entries.clear();
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Drop everything that has expired; if that is not enough, shed roughly a tenth of the
+    // remaining entries in iteration order so the cost of a full scan is amortised over many puts.
+    private void makeRoom(long now) {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().isExpired(now)) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        it = entries.entrySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.skilltracker.cache;
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.CredentialCache;
+import com.example.skilltracker.security.TokenService;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Keeps {@link UserSkillCache} and {@link CredentialCache} consistent across horizontally scaled
+ * nodes by watching the {@code users} collection, and tells {@link TokenService} about account
+ * changes made on other nodes. Every skill write bumps the owner's
+ * {@code skillsVersion}, so a change to a user document is enough to know which user's cached
+ * entries to drop. Credentials and tokens are only revoked when more than that counter changed,
+ * so skill writes do not send the next request through BCrypt or the account check again.
+ * Requires a replica set (Atlas always is one).
+ */
+@Component
+@ConditionalOnProperty(name = "skilltracker.cache.change-streams.enabled", havingValue = "true")
+public class ChangeStreamCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamCacheInvalidator.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private UserSkillCache userSkillCache;
+    @Autowired
+    private CredentialCache credentialCache;
+    @Autowired
+    private TokenService tokenService;
+
+    private MessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        ChangeStreamRequest<Document> request = ChangeStreamRequest.builder(this::onChange)
+                .collection(mongoTemplate.getCollectionName(User.class))
+                .build();
+        container.register(request, Document.class);
+        container.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        BsonDocument key = change == null ? null : change.getDocumentKey();
+        BsonValue id = key == null ? null : key.get("_id");
+        if (id != null && id.isObjectId()) {
+            ObjectId userId = id.asObjectId().getValue();
+            userSkillCache.invalidateUser(userId);
+            if (!isSkillsVersionBump(change)) {
+                tokenService.revokeUser(userId);
+                credentialCache.invalidateUser(userId);
+            }
+        } else if (change != null) {
+            // drop, rename or invalidate: nothing precise to go on
+            log.debug("Clearing user caches after {} on users", change.getOperationType());
+            userSkillCache.invalidateAll();
+            credentialCache.invalidateAll();
+            tokenService.revokeAll();
+        }
+    }
+
+    // Password, role and account changes as well as deletes and replaces all touch more than this
+    private static boolean isSkillsVersionBump(ChangeStreamDocument<Document> change) {
+        UpdateDescription update = change.getUpdateDescription();
+        return change.getOperationType() == OperationType.UPDATE && update != null
+                && (update.getRemovedFields() == null || update.getRemovedFields().isEmpty())
+                && update.getUpdatedFields() != null
+                && update.getUpdatedFields().keySet().equals(Set.of("skillsVersion"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.skilltracker.cache;
+
+/**
+ * A user's skill list as ready-to-send JSON bytes, with a gzip copy when the list is large enough
+ * to be worth compressing. Tagged with the skill-list version it was encoded from.
+ */
+public final class EncodedSkillList {
+
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    EncodedSkillList(long version, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Shared between requests: callers write these arrays out and never modify them
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.skilltracker.cache;
+
+import com.example.skilltracker.model.Skill;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-user cache of the encoded response body for the plain skill list, so a repeated read is a
+ * byte copy instead of a Jackson pass over every skill. An entry is only served for the
+ * skill-list version it was encoded from; {@link #invalidate} just frees it early.
+ *
+ * Lists of at least {@code gzip-min-bytes} also keep a gzip copy, compressed once at the highest
+ * level because it is sent many times. The counters give the savings: every hit skips one encode
+ * (see {@link #getEncodeSeconds()}), and {@link #getBytesSaved()} is what gzip kept off the wire.
+ */
+@Component
+public class SkillBodyCache {
+
+    private final BoundedTtlCache<ObjectId, EncodedSkillList> bodies;
+    private final ObjectWriter writer;
+    private final int gzipMinBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder encodes = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder identityBytes = new LongAdder();
+    private final LongAdder gzipBytes = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public SkillBodyCache(ObjectMapper objectMapper,
+                          @Value("${skilltracker.cache.skill-bodies.max-entries:5000}") int maxEntries,
+                          @Value("${skilltracker.cache.skill-bodies.ttl-seconds:60}") long ttl,
+                          @Value("${skilltracker.cache.skill-bodies.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.bodies = new BoundedTtlCache<>(maxEntries, ttl, TimeUnit.SECONDS);
+        this.writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Skill.class));
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    public EncodedSkillList get(ObjectId userId, long version, Supplier<List<Skill>> loader) {
+        EncodedSkillList cached = bodies.get(userId);
+        if (cached != null && cached.getVersion() == version) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        if (cached != null) {
+            bodies.invalidate(userId);
+        }
+        // Loaded through the cache so a body encoded while a write invalidated it is not stored
+        EncodedSkillList encoded = bodies.get(userId, id -> encode(version, loader.get()));
+        return encoded.getVersion() == version ? encoded : encode(version, loader.get());
+    }
+
+    public void invalidate(ObjectId userId) {
+        bodies.invalidate(userId);
+    }
+
+    /**
+     * Records one response sent from {@code body}, compressed or not.
+     */
+    public void recordSent(EncodedSkillList body, boolean gzip) {
+        if (gzip) {
+            gzipBytes.add(body.getGzip().length);
+            bytesSaved.add(body.getJson().length - body.getGzip().length);
+        } else {
+            identityBytes.add(body.getJson().length);
+        }
+    }
+
+    private EncodedSkillList encode(long version, List<Skill> skills) {
+        long start = System.nanoTime();
+        try {
+            byte[] json = writer.writeValueAsBytes(skills);
+            byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+            return new EncodedSkillList(version, json, gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            encodes.increment();
+            encodeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    public BoundedTtlCache<ObjectId, EncodedSkillList> bodies() {
+        return bodies;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEncodes() {
+        return encodes.sum();
+    }
+
+    public double getEncodeSeconds() {
+        return encodeNanos.sum() / 1e9;
+    }
+
+    public long getIdentityBytes() {
+        return identityBytes.sum();
+    }
+
+    public long getGzipBytes() {
+        return gzipBytes.sum();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.skilltracker.cache;
+
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-through caches for the lookups every request repeats: the user document, the user's
+ * resolved skill list and the skill-list version behind the ETag. It also remembers which users
+ * are known to be off the legacy DBRef skill layout, so reads stop looking for the old array.
+ *
+ * Local writes invalidate precisely through {@link #invalidateUser} and {@link #invalidateSkills}.
+ * Writes made by other nodes are only seen after the TTL, unless change-stream invalidation
+ * ({@link ChangeStreamCacheInvalidator}) is switched on.
+ */
+@Component
+public class UserSkillCache {
+
+    private final BoundedTtlCache<ObjectId, User> users;
+    private final BoundedTtlCache<ObjectId, List<Skill>> skillLists;
+    private final BoundedTtlCache<ObjectId, Long> skillVersions;
+    private final BoundedTtlCache<ObjectId, Boolean> legacyClaimed;
+
+    public UserSkillCache(@Value("${skilltracker.cache.users.max-entries:10000}") int userEntries,
+                          @Value("${skilltracker.cache.users.ttl-seconds:300}") long userTtl,
+                          @Value("${skilltracker.cache.skills.max-entries:5000}") int skillEntries,
+                          @Value("${skilltracker.cache.skills.ttl-seconds:60}") long skillTtl) {
+        this.users = new BoundedTtlCache<>(userEntries, userTtl, TimeUnit.SECONDS);
+        this.skillLists = new BoundedTtlCache<>(skillEntries, skillTtl, TimeUnit.SECONDS);
+        this.skillVersions = new BoundedTtlCache<>(userEntries, skillTtl, TimeUnit.SECONDS);
+        this.legacyClaimed = new BoundedTtlCache<>(userEntries, userTtl, TimeUnit.SECONDS);
+    }
+
+    public User getUser(ObjectId id, Function<ObjectId, User> loader) {
+        return users.get(id, loader);
+    }
+
+    public List<Skill> getSkills(ObjectId userId, Function<ObjectId, List<Skill>> loader) {
+        // Cached lists are shared between requests, so hand out an immutable copy
+        return skillLists.get(userId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    // Null when the list is not cached; nothing is loaded
+    public List<Skill> peekSkills(ObjectId userId) {
+        return skillLists.get(userId);
+    }
+
+    public long getSkillsVersion(ObjectId userId, Function<ObjectId, Long> loader) {
+        return skillVersions.get(userId, loader);
+    }
+
+    // Nothing writes the DBRef array any more, so once claimed a user stays claimed
+    public boolean isLegacyClaimed(ObjectId userId) {
+        return legacyClaimed.get(userId) != null;
+    }
+
+    public void markLegacyClaimed(ObjectId userId) {
+        legacyClaimed.put(userId, Boolean.TRUE);
+    }
+
+    public void invalidateUser(ObjectId id) {
+        users.invalidate(id);
+        legacyClaimed.invalidate(id);
+        invalidateSkills(id);
+    }
+
+    public void invalidateSkills(ObjectId userId) {
+        skillLists.invalidate(userId);
+        skillVersions.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        users.invalidateAll();
+        skillLists.invalidateAll();
+        skillVersions.invalidateAll();
+        legacyClaimed.invalidateAll();
+    }
+
+    public BoundedTtlCache<ObjectId, User> users() {
+        return users;
+    }
+
+    public BoundedTtlCache<ObjectId, List<Skill>> skillLists() {
+        return skillLists;
+    }
+
+    public BoundedTtlCache<ObjectId, Long> skillVersions() {
+        return skillVersions;
+    }
+}
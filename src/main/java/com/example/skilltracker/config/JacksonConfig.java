@@ -18,7 +18,8 @@ public class JacksonConfig {
         return builder -> {
             SimpleModule module = new SimpleModule();
             module.addSerializer(ObjectId.class, new ObjectIdSerializer());
-            builder.modules(module);
+            // Added next to Boot's well-known modules (java.time and friends) rather than replacing them
+            builder.modulesToInstall(module);
         };
     }
 }
@@ -0,0 +1,144 @@
+package com.example.skilltracker.config;
+
+import com.example.skilltracker.cache.BoundedTtlCache;
+import com.example.skilltracker.cache.SkillBodyCache;
+import com.example.skilltracker.cache.UserSkillCache;
+import com.example.skilltracker.security.AuthRateLimiter;
+import com.example.skilltracker.security.CredentialCache;
+import com.example.skilltracker.security.TimedPasswordEncoder;
+import com.example.skilltracker.security.TokenBucketRateLimiter;
+import com.example.skilltracker.service.ExpertFinderService;
+import com.example.skilltracker.service.SkillEventBus;
+import com.example.skilltracker.service.SkillWriteBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters next to the ones Boot provides out of the box ({@code http.server.requests}
+ * per endpoint, {@code mongodb.driver.commands} per command and collection, and the
+ * {@code mongodb.driver.pool.*} gauges): cache effectiveness, encoded-body savings, open skill streams, auth throttling and write coalescing.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Shared by both web stacks and registration, so every BCrypt hash and check is timed
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(UserSkillCache userSkillCache, CredentialCache credentialCache) {
+        return registry -> {
+            bind(registry, "users", userSkillCache.users());
+            bind(registry, "skill-lists", userSkillCache.skillLists());
+            bind(registry, "skill-versions", userSkillCache.skillVersions());
+            Gauge.builder("skilltracker.cache.size", credentialCache, CredentialCache::size)
+                    .tag("cache", "credentials").register(registry);
+            FunctionCounter.builder("skilltracker.cache.requests", credentialCache, CredentialCache::getHits)
+                    .tag("cache", "credentials").tag("result", "hit").register(registry);
+            FunctionCounter.builder("skilltracker.cache.requests", credentialCache, CredentialCache::getMisses)
+                    .tag("cache", "credentials").tag("result", "miss").register(registry);
+        };
+    }
+
+    // CPU saved is roughly requests(result=hit) times the mean of skilltracker.skillbody.encode
+    @Bean
+    public MeterBinder skillBodyMetrics(SkillBodyCache skillBodyCache) {
+        return registry -> {
+            Gauge.builder("skilltracker.cache.size", skillBodyCache.bodies(), BoundedTtlCache::size)
+                    .tag("cache", "skill-bodies").register(registry);
+            FunctionCounter.builder("skilltracker.cache.requests", skillBodyCache, SkillBodyCache::getHits)
+                    .tag("cache", "skill-bodies").tag("result", "hit").register(registry);
+            FunctionCounter.builder("skilltracker.cache.requests", skillBodyCache, SkillBodyCache::getMisses)
+                    .tag("cache", "skill-bodies").tag("result", "miss").register(registry);
+            FunctionTimer.builder("skilltracker.skillbody.encode", skillBodyCache,
+                            SkillBodyCache::getEncodes, SkillBodyCache::getEncodeSeconds, TimeUnit.SECONDS)
+                    .description("JSON and gzip encoding of a skill list on a cache miss").register(registry);
+            FunctionCounter.builder("skilltracker.skillbody.sent", skillBodyCache, SkillBodyCache::getIdentityBytes)
+                    .baseUnit("bytes").tag("encoding", "identity").register(registry);
+            FunctionCounter.builder("skilltracker.skillbody.sent", skillBodyCache, SkillBodyCache::getGzipBytes)
+                    .baseUnit("bytes").tag("encoding", "gzip").register(registry);
+            FunctionCounter.builder("skilltracker.skillbody.saved", skillBodyCache, SkillBodyCache::getBytesSaved)
+                    .baseUnit("bytes").description("Bytes gzip kept off the wire").register(registry);
+        };
+    }
+
+    // Zero until the index has loaded
+    @Bean
+    public MeterBinder similarityMetrics(ExpertFinderService expertFinderService) {
+        return registry -> {
+            Gauge.builder("skilltracker.similarity.users", expertFinderService,
+                            service -> service.isReady() ? service.getIndex().userCount() : 0)
+                    .register(registry);
+            Gauge.builder("skilltracker.similarity.skills", expertFinderService,
+                            service -> service.isReady() ? service.getIndex().skillCount() : 0)
+                    .register(registry);
+            Gauge.builder("skilltracker.similarity.bitmaps", expertFinderService,
+                            service -> service.isReady() ? service.getIndex().bitmapBytes() : 0)
+                    .baseUnit("bytes").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder streamMetrics(SkillEventBus skillEventBus) {
+        return registry -> {
+            Gauge.builder("skilltracker.stream.subscribers", skillEventBus, SkillEventBus::getSubscriberCount)
+                    .description("Open skill-change streams").register(registry);
+            FunctionCounter.builder("skilltracker.stream.evictions", skillEventBus, SkillEventBus::getEvictionCount)
+                    .description("Streams dropped for falling behind").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(AuthRateLimiter rateLimiter) {
+        return registry -> {
+            bind(registry, "address", rateLimiter.byAddress());
+            bind(registry, "username", rateLimiter.byUsername());
+        };
+    }
+
+    // Coalescing ratio is updates(stage=received) over updates(stage=written)
+    @Bean
+    public MeterBinder writeBufferMetrics(SkillWriteBuffer writeBuffer) {
+        return registry -> {
+            Gauge.builder("skilltracker.writebuffer.pending", writeBuffer, SkillWriteBuffer::size)
+                    .description("Skill changes waiting to be flushed").register(registry);
+            FunctionCounter.builder("skilltracker.writebuffer.updates", writeBuffer, SkillWriteBuffer::getReceived)
+                    .tag("stage", "received").register(registry);
+            FunctionCounter.builder("skilltracker.writebuffer.updates", writeBuffer, SkillWriteBuffer::getWritten)
+                    .tag("stage", "written").register(registry);
+            FunctionTimer.builder("skilltracker.writebuffer.flush", writeBuffer,
+                            SkillWriteBuffer::getFlushes, SkillWriteBuffer::getFlushSeconds, TimeUnit.SECONDS)
+                    .description("One bulk write per user batch").register(registry);
+        };
+    }
+
+    private static void bind(MeterRegistry registry, String limit, TokenBucketRateLimiter limiter) {
+        FunctionCounter.builder("skilltracker.ratelimit.throttled", limiter, TokenBucketRateLimiter::getThrottled)
+                .description("Auth requests rejected with 429").tag("limit", limit).register(registry);
+        FunctionCounter.builder("skilltracker.ratelimit.evictions", limiter, TokenBucketRateLimiter::getEvictions)
+                .tag("limit", limit).register(registry);
+        Gauge.builder("skilltracker.ratelimit.buckets", limiter, TokenBucketRateLimiter::size)
+                .tag("limit", limit).register(registry);
+    }
+
+    private static void bind(MeterRegistry registry, String name, BoundedTtlCache<?, ?> cache) {
+        Gauge.builder("skilltracker.cache.size", cache, BoundedTtlCache::size).tag("cache", name).register(registry);
+        FunctionCounter.builder("skilltracker.cache.requests", cache, BoundedTtlCache::getHits)
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("skilltracker.cache.requests", cache, BoundedTtlCache::getMisses)
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("skilltracker.cache.evictions", cache, BoundedTtlCache::getEvictions)
+                .tag("cache", name).register(registry);
+    }
+}
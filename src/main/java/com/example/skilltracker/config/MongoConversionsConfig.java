@@ -0,0 +1,33 @@
+package com.example.skilltracker.config;
+
+import com.example.skilltracker.model.Proficiency;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+/**
+ * Custom Mongo type conversions. Proficiency is written as the constant name by default;
+ * reading goes through {@link Proficiency#lenient} so free-text values stored before the enum
+ * existed load instead of failing the whole query.
+ */
+@Configuration
+public class MongoConversionsConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new ProficiencyReadConverter()));
+    }
+
+    @ReadingConverter
+    static class ProficiencyReadConverter implements Converter<String, Proficiency> {
+
+        @Override
+        public Proficiency convert(String source) {
+            return Proficiency.lenient(source);
+        }
+    }
+}
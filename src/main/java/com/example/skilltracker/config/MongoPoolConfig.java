@@ -0,0 +1,38 @@
+package com.example.skilltracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the Mongo driver's connection pool and socket timeouts as application properties.
+ * With virtual threads the pool, not the Tomcat thread count, is what bounds concurrent
+ * Atlas calls, so a request waits at most {@code max-wait-ms} for a connection before failing.
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+            @Value("${skilltracker.mongo.pool.max-size:100}") int maxSize,
+            @Value("${skilltracker.mongo.pool.min-size:0}") int minSize,
+            @Value("${skilltracker.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${skilltracker.mongo.pool.max-wait-ms:120000}") long maxWaitMs,
+            @Value("${skilltracker.mongo.pool.max-idle-seconds:0}") long maxIdleSeconds,
+            @Value("${skilltracker.mongo.socket.connect-timeout-ms:10000}") int connectTimeoutMs,
+            @Value("${skilltracker.mongo.socket.read-timeout-ms:0}") int readTimeoutMs) {
+        return builder -> builder
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(maxSize)
+                        .minSize(minSize)
+                        .maxConnecting(maxConnecting)
+                        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(maxIdleSeconds, TimeUnit.SECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.skilltracker.config;
+
+import com.example.skilltracker.model.BulkImportResult;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillAnalytics;
+import com.example.skilltracker.model.SkillMatch;
+import com.example.skilltracker.model.SkillMatchPage;
+import com.example.skilltracker.model.SkillPage;
+import com.example.skilltracker.model.SkillRollup;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.model.UserMatch;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for a native image. Controllers mostly return {@code ResponseEntity<?>}, so AOT
+ * cannot see which models Jackson and the Mongo mapping reach; they are listed here. Binding hints
+ * cover the Lombok-generated accessors and the types nested inside each model.
+ *
+ * The security configuration needs nothing extra: its filters and providers are built directly
+ * in bean methods, which AOT already compiles.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    static final Class<?>[] MODELS = {
+            User.class, Skill.class, Proficiency.class, SkillPage.class, SkillMatch.class, SkillMatchPage.class,
+            BulkImportResult.class, SkillAnalytics.class, SkillRollup.class, UserMatch.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), MODELS);
+        // Created with new today, but kept constructible should it move to @JsonSerialize(using = ...)
+        hints.reflection().registerType(ObjectIdSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
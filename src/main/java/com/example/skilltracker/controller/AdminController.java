@@ -0,0 +1,44 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.service.UserService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Set;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/skill-tracker/admin")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdminController {
+
+    private static final Set<String> USER_FIELDS = Set.of("username", "roles");
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    protected UserService userService;
+
+    // One user per line in id order; with a limit, pass the id on the last line as "after" for the next page
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) ObjectId after,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) Set<String> fields,
+                                         @RequestParam(defaultValue = "false") boolean skills){
+        if(limit != null && limit < 1){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        if(fields != null && !USER_FIELDS.containsAll(fields)){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields may only contain " + USER_FIELDS);
+        }
+        // Bad parameters have to fail before the stream starts
+        StreamingResponseBody body = out -> userService.exportUsers(after, limit == null ? 0 : limit, fields, skills, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.service.ExpertFinderService;
+import com.example.skilltracker.service.SkillAnalyticsService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/skill-tracker/analytics")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AnalyticsController {
+
+    @Autowired
+    protected SkillAnalyticsService skillAnalyticsService;
+    @Autowired
+    protected ExpertFinderService expertFinderService;
+    @Autowired
+    protected TaskExecutor taskExecutor;
+
+    // Served from the precomputed rollups; never touches the skills collection
+    @GetMapping
+    public ResponseEntity<?> getAnalytics(){
+        try{
+            return ResponseEntity.ok(skillAnalyticsService.getAnalytics());
+        }catch (Exception e){
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    // The rebuild aggregates the whole skills collection, so it runs in the background
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild(){
+        taskExecutor.execute(skillAnalyticsService::rebuild);
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+    // Users whose skills overlap the most with this user's, from the in-memory similarity index
+    @GetMapping("/similar/{userId}")
+    public ResponseEntity<?> getSimilarUsers(@PathVariable ObjectId userId,
+                                             @RequestParam(defaultValue = "10") int limit,
+                                             @RequestParam(defaultValue = "false") boolean weighted){
+        try{
+            return ResponseEntity.ok(expertFinderService.findSimilar(userId, limit, weighted));
+        }catch (IllegalArgumentException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }catch (IllegalStateException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    // Users covering the most of the given skills, higher proficiency first
+    @GetMapping("/experts")
+    public ResponseEntity<?> getExperts(@RequestParam List<String> skills,
+                                        @RequestParam(defaultValue = "10") int limit){
+        try{
+            return ResponseEntity.ok(expertFinderService.findExperts(skills, limit));
+        }catch (IllegalArgumentException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }catch (IllegalStateException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    @PostMapping("/similarity/rebuild")
+    public ResponseEntity<?> rebuildSimilarity(){
+        taskExecutor.execute(expertFinderService::rebuild);
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+}
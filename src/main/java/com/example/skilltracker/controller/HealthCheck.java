@@ -2,10 +2,12 @@ package com.example.skilltracker.controller;
 
 
 import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
 import com.example.skilltracker.service.CustomUserDetails;
 import com.example.skilltracker.service.UserService;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -15,13 +17,27 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/skill-tracker")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class HealthCheck {
     @Autowired
     UserService userService;
+    @Autowired
+    TokenService tokenService;
     @GetMapping("/login")
     public ResponseEntity<?> check(@AuthenticationPrincipal CustomUserDetails userDetails){
         String id = userDetails.getUserId().toHexString();
-        return ResponseEntity.ok(id);
+        User user = new User();
+        user.setId(userDetails.getUserId());
+        user.setUsername(userDetails.getUsername());
+        // The token is tied to the stored hash, so a later password change revokes it. A principal
+        // taken from a bearer token alone carries no hash, so read it from the account
+        user.setPassword(userDetails.getPassword() != null ? userDetails.getPassword()
+                : userService.getUserById(userDetails.getUserId()).getPassword());
+        user.setRoles(userDetails.getAuthorities().stream().map(a -> a.getAuthority()).toList());
+        return ResponseEntity.ok()
+                .header("X-Auth-Token", tokenService.issue(user))
+                .header("X-Auth-Token-Expires-In", String.valueOf(tokenService.getTtlSeconds()))
+                .body(id);
     }
     @PostMapping("/register")
     public ResponseEntity<?> createUser(@RequestBody User user){
@@ -0,0 +1,56 @@
+package com.example.skilltracker.controller;
+
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import com.example.skilltracker.service.CustomUserDetails;
+import com.example.skilltracker.service.ReactiveUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link HealthCheck}, active with the "reactive" profile.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/skill-tracker")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveHealthCheck {
+    @Autowired
+    ReactiveUserService userService;
+    @Autowired
+    TokenService tokenService;
+    @GetMapping("/login")
+    public Mono<ResponseEntity<?>> check(@AuthenticationPrincipal CustomUserDetails userDetails){
+        String id = userDetails.getUserId().toHexString();
+        // The token is tied to the stored hash, so a later password change revokes it. A principal
+        // taken from a bearer token alone carries no hash, so read it from the account
+        Mono<String> password = userDetails.getPassword() != null ? Mono.just(userDetails.getPassword())
+                : userService.getAccount(userDetails.getUserId()).map(User::getPassword);
+        return password.map(hash -> {
+            User user = new User();
+            user.setId(userDetails.getUserId());
+            user.setUsername(userDetails.getUsername());
+            user.setPassword(hash);
+            user.setRoles(userDetails.getAuthorities().stream().map(a -> a.getAuthority()).toList());
+            return ResponseEntity.ok()
+                    .header("X-Auth-Token", tokenService.issue(user))
+                    .header("X-Auth-Token-Expires-In", String.valueOf(tokenService.getTtlSeconds()))
+                    .body(id);
+        });
+    }
+    @PostMapping("/register")
+    public Mono<ResponseEntity<?>> createUser(@RequestBody User user){
+        if(user == null || user.getUsername().isEmpty() || user.getPassword().isEmpty()){
+            return Mono.just(new ResponseEntity<>("Username and Password must not be null or empty.",HttpStatus.BAD_REQUEST));
+        }
+        return userService.saveNewUser(user)
+                .<ResponseEntity<?>>map(saved -> new ResponseEntity<>(HttpStatus.CREATED))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(),HttpStatus.NO_CONTENT)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.service.ReactiveSkillService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Reactive counterpart of {@link SkillController}, active with the "reactive" profile.
+ * The list is written as it comes off the Mongo cursor, either as a JSON array or, with
+ * {@code Accept: application/x-ndjson}, one skill per line; a slow reader slows the cursor down.
+ * Paging, bulk import, export and the SSE stream are only served by the servlet stack.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/skill-tracker/skill")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSkillController {
+    @Autowired
+    protected ReactiveSkillService skillService;
+
+    @PostMapping("/id/{id}")
+    public Mono<ResponseEntity<?>> createSkill(@RequestBody Skill skill, @PathVariable ObjectId id){
+        return skillService.saveSkill(id,skill)
+                .<ResponseEntity<?>>thenReturn(new ResponseEntity<>(HttpStatus.CREATED))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(),HttpStatus.BAD_REQUEST)));
+    }
+    @GetMapping(path = "/id/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<?>> getAllSkills(@PathVariable ObjectId userId,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String after,
+                                                ServerWebExchange exchange){
+        if(limit != null || after != null){
+            return Mono.just(new ResponseEntity<>("Paging is not available on this node; read the full stream instead",
+                    HttpStatus.BAD_REQUEST));
+        }
+        return skillService.getVersion(userId).flatMap(version -> {
+            // Same tag as the servlet stack gives an unpaged list, so caches survive a switch
+            String etag = "W/\"" + version + "-" + Integer.toHexString(Objects.hash(null, null, null, null)) + "\"";
+            if(exchange.checkNotModified(etag)){
+                return Mono.empty();
+            }
+            return Mono.just(ResponseEntity.ok().eTag(etag).body(skillService.getAll(userId)));
+        });
+    }
+    @PutMapping("/userId/{userId}/skillId/{skillId}")
+    public Mono<ResponseEntity<?>> putSkill(@PathVariable ObjectId userId,@PathVariable ObjectId skillId,@RequestBody Skill skill){
+        return skillService.updateSkill(userId, skillId, skill)
+                .<ResponseEntity<?>>thenReturn(new ResponseEntity<>(HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST)));
+    }
+
+    @DeleteMapping("/userId/{userId}/skillId/{skillId}")
+    public Mono<ResponseEntity<?>> deleteSkill(@PathVariable ObjectId userId,@PathVariable ObjectId skillId){
+        return skillService.deleteSkillById(skillId,userId)
+                .<ResponseEntity<?>>thenReturn(new ResponseEntity<>(HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+}
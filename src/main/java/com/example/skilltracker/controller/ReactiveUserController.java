@@ -0,0 +1,74 @@
+package com.example.skilltracker.controller;
+
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.service.ReactiveSkillService;
+import com.example.skilltracker.service.ReactiveUserService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Reactive counterpart of {@link UserController}, active with the "reactive" profile.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/skill-tracker/user")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    @Autowired
+    protected ReactiveUserService userService;
+    @Autowired
+    protected ReactiveSkillService skillService;
+    private static final Set<String> DEFAULT_USER_FIELDS = Set.of("username", "roles");
+    private static final Set<String> USER_FIELDS = Set.of("username", "roles", "skills");
+
+    @GetMapping("/id/{id}")
+    public Mono<ResponseEntity<?>> getUser(@PathVariable ObjectId id, @RequestParam(required = false) Set<String> fields){
+        Set<String> requested = fields == null ? DEFAULT_USER_FIELDS : fields;
+        if(!USER_FIELDS.containsAll(requested)){
+            return Mono.just(new ResponseEntity<>("fields may only contain " + USER_FIELDS,HttpStatus.BAD_REQUEST));
+        }
+        // Skills are a separate collection; only read them when asked for
+        return userService.getUserById(id, requested.stream().filter(f -> !f.equals("skills")).toList())
+                .flatMap(user -> !requested.contains("skills") ? Mono.just(user)
+                        : skillService.getAll(id).collectList().map(skills -> {
+                            user.setSkills(skills);
+                            return user;
+                        }))
+                .<ResponseEntity<?>>map(user -> {
+                    if(!requested.contains("skills")){
+                        user.setSkills(null);
+                    }
+                    return new ResponseEntity<>(user,HttpStatus.FOUND);
+                })
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(),HttpStatus.NOT_FOUND)));
+    }
+    @PutMapping("/id/{id}")
+    public Mono<ResponseEntity<?>> updateUser(@RequestBody User user,@PathVariable ObjectId id){
+        return userService.getUserById(id)
+                .flatMap(oldUser -> {
+                    oldUser.setUsername(!user.getUsername().isEmpty() ? user.getUsername(): oldUser.getUsername());
+                    oldUser.setPassword(!user.getPassword().isEmpty() ? user.getPassword(): oldUser.getPassword());
+                    return userService.saveUser(oldUser).thenReturn(oldUser);
+                })
+                .<ResponseEntity<?>>map(oldUser -> new ResponseEntity<>(oldUser,HttpStatus.ACCEPTED))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.ACCEPTED))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(),HttpStatus.BAD_REQUEST)));
+    }
+    @DeleteMapping("/id/{id}")
+    public Mono<ResponseEntity<?>> deleteUser(@PathVariable ObjectId id){
+        return userService.getUserById(id)
+                .flatMap(oldUser -> userService.deleteById(id).thenReturn(oldUser))
+                .<ResponseEntity<?>>map(oldUser -> new ResponseEntity<>(HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(),HttpStatus.NOT_FOUND)));
+    }
+ }
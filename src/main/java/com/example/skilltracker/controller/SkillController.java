@@ -1,27 +1,47 @@
 package com.example.skilltracker.controller;
 
+import com.example.skilltracker.cache.EncodedSkillList;
+import com.example.skilltracker.cache.SkillBodyCache;
+import com.example.skilltracker.model.BulkImportResult;
 import com.example.skilltracker.model.Skill;
-import com.example.skilltracker.model.User;
+import com.example.skilltracker.service.SkillEventBus;
+import com.example.skilltracker.service.SkillSearchService;
 import com.example.skilltracker.service.SkillService;
 import com.example.skilltracker.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/skill-tracker/skill")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SkillController {
     @Autowired
     protected UserService userService;
     @Autowired
     protected SkillService skillService;
+    @Autowired
+    protected SkillEventBus skillEventBus;
+    @Autowired
+    protected SkillSearchService skillSearchService;
+    @Autowired
+    protected SkillBodyCache skillBodyCache;
 
     @PostMapping("/id/{id}")
     public ResponseEntity<?> createSkill(@RequestBody Skill skill, @PathVariable ObjectId id){
@@ -33,26 +53,97 @@ public class SkillController {
         }
     }
     @GetMapping("/id/{userId}")
-    public ResponseEntity<?>  getAllSkills(@PathVariable ObjectId userId){
+    public ResponseEntity<?>  getAllSkills(@PathVariable ObjectId userId,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String after,
+                                           @RequestParam(required = false) String sort,
+                                           @RequestParam(required = false) Set<String> fields,
+                                           WebRequest webRequest){
         try{
-            return new ResponseEntity<>(skillService.getAll(userId),HttpStatus.OK);
+            // The version lives on the user document, so a matching If-None-Match never reads skills.
+            // Weak because the gzip and identity bodies share it; both are the same list
+            long version = skillService.getVersion(userId);
+            String etag = "W/\"" + version + "-"
+                    + Integer.toHexString(Objects.hash(limit, after, sort, fields)) + "\"";
+            if(webRequest.checkNotModified(etag)){
+                return null;
+            }
+            // Without paging parameters keep returning the plain list older clients expect,
+            // written from the cached encoding (and its gzip copy when the client takes it)
+            if(limit == null && after == null && sort == null && fields == null){
+                EncodedSkillList body = skillService.getAllEncoded(userId, version);
+                boolean gzip = body.getGzip() != null && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+                skillBodyCache.recordSent(body, gzip);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag)
+                        .contentType(MediaType.APPLICATION_JSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+                if(gzip){
+                    response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+                return response.body(gzip ? body.getGzip() : body.getJson());
+            }
+            return ResponseEntity.ok().eTag(etag).body(skillService.getPage(userId, limit, after, sort, fields));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(),HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
     }
+    @GetMapping("/search")
+    public ResponseEntity<?> searchSkills(@RequestParam String q,
+                                          @RequestParam(required = false) String mode,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String after){
+        try{
+            return ResponseEntity.ok(skillSearchService.search(q, mode, limit, after));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(),HttpStatus.BAD_REQUEST);
+        }
+    }
+    @GetMapping(path = "/stream/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSkills(@PathVariable ObjectId userId){
+        SseEmitter emitter = skillEventBus.subscribe(userId);
+        if(emitter == null){
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open skill streams");
+        }
+        return emitter;
+    }
+    @PostMapping(path = "/bulk/{userId}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> importSkills(@PathVariable ObjectId userId, HttpServletRequest request){
+        try{
+            BulkImportResult result = skillService.importSkills(userId, request.getInputStream());
+            HttpStatus status = result.getImported() == 0 && !result.getErrors().isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+            return new ResponseEntity<>(result,status);
+        }catch (Exception e){
+            return new ResponseEntity<>(e.getMessage(),HttpStatus.BAD_REQUEST);
+        }
+    }
+    @GetMapping(path = "/export/{userId}", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportSkills(@PathVariable ObjectId userId){
+        StreamingResponseBody body = out -> skillService.exportSkills(userId, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    // Skill lists of many users (a team view) in one request, streamed as NDJSON
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> getSkillsOfUsers(@RequestBody List<String> userIds){
+        List<ObjectId> ids;
+        try{
+            ids = skillService.parseUserIds(userIds);
+        }catch (IllegalArgumentException e){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        StreamingResponseBody body = out -> skillService.exportSkillLists(ids, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
     @PutMapping("/userId/{userId}/skillId/{skillId}")
     public ResponseEntity<?> putSkill(@PathVariable ObjectId userId,@PathVariable ObjectId skillId,@RequestBody Skill skill){
         try {
-            User user = userService.getUserById(userId);
-            if (user != null) {
-                Optional<Skill> oldskill = user.getSkills().stream().filter(x -> x.getId().equals(skillId)).findFirst();
-                if (oldskill.isPresent()) {
-                    oldskill.get().setName(!skill.getName().isEmpty() ? skill.getName() : oldskill.get().getName());
-                    oldskill.get().setProficiency(!skill.getProficiency().isEmpty() ? skill.getProficiency() : oldskill.get().getProficiency());
-                    skillService.saveSkill(userId, oldskill.get());
-                }
+            if(!skillService.updateSkill(userId, skillId, skill)){
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
             return new ResponseEntity<>(HttpStatus.OK);
+        }catch (RejectedExecutionException e){
+            // The write buffer is full; the client should back off and resend
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
         }catch (Exception E){
             return  new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -61,13 +152,34 @@ public class SkillController {
     @DeleteMapping("/userId/{userId}/skillId/{skillId}")
     public ResponseEntity<?> deleteSkill(@PathVariable ObjectId userId,@PathVariable ObjectId skillId){
         try {
-            User user = userService.getUserById(userId);
-            if (user != null) {
-                skillService.deleteSkillById(skillId,userId);
-            }
+            skillService.deleteSkillById(skillId,userId);
             return new ResponseEntity<>(HttpStatus.OK);
         }catch (Exception E){
             return  new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+
+    // An explicit gzip entry decides, otherwise a * entry; q=0 refuses
+    static boolean acceptsGzip(String acceptEncoding){
+        if(acceptEncoding == null){
+            return false;
+        }
+        boolean any = false;
+        for(String coding : acceptEncoding.split(",")){
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for(int i = 1; i < parts.length; i++){
+                String param = parts[i].trim();
+                if(param.startsWith("q=") && param.substring(2).matches("0(\\.0{0,3})?")){
+                    accepted = false;
+                }
+            }
+            if(name.equalsIgnoreCase("gzip")){
+                return accepted;
+            }
+            any |= name.equals("*") && accepted;
+        }
+        return any;
+    }
 }
@@ -3,26 +3,41 @@ package com.example.skilltracker.controller;
 
 import com.example.skilltracker.model.User;
 import com.example.skilltracker.repository.UserRepository;
+import com.example.skilltracker.service.SkillService;
 import com.example.skilltracker.service.UserService;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/skill-tracker/user")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
     
     @Autowired
     protected UserService userService;
+    @Autowired
+    protected SkillService skillService;
+    private static final Set<String> DEFAULT_USER_FIELDS = Set.of("username", "roles");
+    private static final Set<String> USER_FIELDS = Set.of("username", "roles", "skills");
+
     @GetMapping("/id/{id}")
-    public ResponseEntity<?> getUser(@PathVariable ObjectId id){
+    public ResponseEntity<?> getUser(@PathVariable ObjectId id, @RequestParam(required = false) Set<String> fields){
+        Set<String> requested = fields == null ? DEFAULT_USER_FIELDS : fields;
+        if(!USER_FIELDS.containsAll(requested)){
+            return new ResponseEntity<>("fields may only contain " + USER_FIELDS,HttpStatus.BAD_REQUEST);
+        }
         try{
-            User user = userService.getUserById(id);
+            // Skills are a separate collection; only read them when asked for
+            User user = userService.getUserById(id, requested.stream().filter(f -> !f.equals("skills")).toList());
             if(user != null){
+                user.setSkills(requested.contains("skills") ? skillService.getAll(id) : null);
                 return new ResponseEntity<>(user,HttpStatus.FOUND);
             }
         }catch (Exception e){
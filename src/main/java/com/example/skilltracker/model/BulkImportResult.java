@@ -0,0 +1,26 @@
+package com.example.skilltracker.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk skill import. Item indexes are zero-based positions in the request body.
+ */
+@Data
+public class BulkImportResult {
+
+    private int received;
+
+    private int imported;
+
+    private List<ItemError> errors = new ArrayList<>();
+
+    public void addError(int index, String message) {
+        errors.add(new ItemError(index, message));
+    }
+
+    public record ItemError(int index, String message) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.skilltracker.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Skill level, declared in ladder order. Serialized as its label ("Beginner", ...) so existing
+ * clients see no change, stored in Mongo by constant name next to its {@link #getRank() rank}, and
+ * read leniently since older documents hold free text.
+ */
+public enum Proficiency {
+
+    BEGINNER("Beginner"),
+    INTERMEDIATE("Intermediate"),
+    ADVANCED("Advanced"),
+    EXPERT("Expert");
+
+    // Spellings found in data written before the enum existed
+    private static final Map<String, Proficiency> ALIASES = Map.of(
+            "novice", BEGINNER,
+            "basic", BEGINNER,
+            "medium", INTERMEDIATE,
+            "mid", INTERMEDIATE,
+            "proficient", ADVANCED,
+            "master", EXPERT);
+
+    private final String label;
+
+    Proficiency(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Position on the ladder, Beginner lowest; stored so that sorting by level follows the ladder.
+     */
+    public int getRank() {
+        return ordinal();
+    }
+
+    /**
+     * @return the matching level ignoring case and surrounding blanks, or null for null or blank input
+     * @throws IllegalArgumentException for any other value
+     */
+    @JsonCreator
+    public static Proficiency parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Proficiency proficiency = lenient(value);
+        if (proficiency == null) {
+            throw new IllegalArgumentException("Unknown proficiency '" + value + "', expected one of "
+                    + Arrays.stream(values()).map(Proficiency::getLabel).toList());
+        }
+        return proficiency;
+    }
+
+    /**
+     * Like {@link #parse} but returns null instead of failing, for values already in the database.
+     */
+    public static Proficiency lenient(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT);
+        for (Proficiency proficiency : values()) {
+            if (proficiency.name().toLowerCase(Locale.ROOT).equals(key)) {
+                return proficiency;
+            }
+        }
+        return ALIASES.get(key);
+    }
+}
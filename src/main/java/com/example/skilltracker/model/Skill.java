@@ -1,22 +1,72 @@
 package com.example.skilltracker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
+import lombok.Setter;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Locale;
+
 @Document(collection = "skills")
+// Keyset pagination walks a user's skills in (sort key, _id) order, one index per sort option
+@CompoundIndex(name = "user_id_idx", def = "{'userId': 1, '_id': 1}")
+@CompoundIndex(name = "user_name_idx", def = "{'userId': 1, 'name': 1, '_id': 1}")
+@CompoundIndex(name = "user_proficiency_rank_idx", def = "{'userId': 1, 'proficiencyRank': 1, '_id': 1}")
+// Cross-user search: case-insensitive prefix ranges in (nameLower, _id) order, and word search on name
+@CompoundIndex(name = "name_lower_idx", def = "{'nameLower': 1, '_id': 1}")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @NoArgsConstructor        // ⭐ REQUIRED FOR JACKSON
-@AllArgsConstructor
 public class Skill {
 
     @Id
     private ObjectId id;
 
+    @TextIndexed
     private String name;
 
-    private String proficiency;
+    // Lower-cased copy of name, kept in step by setName; never part of the API
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String nameLower;
+
+    // Stored by constant name; legacy free-text values are mapped when read
+    @Setter(AccessLevel.NONE)
+    private Proficiency proficiency;
+
+    // Ladder position of proficiency, kept in step by setProficiency; what sorting by level uses
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private Integer proficiencyRank;
+
+    // Owning user; leads every compound index so a user's skills come back in a single query
+    private ObjectId userId;
+
+    public Skill(ObjectId id, String name, Proficiency proficiency, ObjectId userId) {
+        this.id = id;
+        setName(name);
+        setProficiency(proficiency);
+        this.userId = userId;
+    }
+
+    public void setProficiency(Proficiency proficiency) {
+        this.proficiency = proficiency;
+        this.proficiencyRank = proficiency == null ? null : proficiency.getRank();
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameLower = lowerCase(name);
+    }
+
+    public static String lowerCase(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.skilltracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Org-wide skill figures as served to managers. Built from the stored rollups, never from the
+ * skills themselves; {@code refreshedAt} says how old the figures are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAnalytics {
+
+    private long totalSkills;
+
+    // Proficiency label to count, in level order, ending with "Unspecified"
+    private Map<String, Long> byProficiency;
+
+    private long usersWithSkills;
+
+    private long totalUsers;
+
+    // Share of users holding at least one skill, 0 to 1
+    private double coverage;
+
+    private List<SkillCount> topSkills;
+
+    private Instant refreshedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkillCount {
+
+        private String name;
+
+        private long total;
+
+        private Map<String, Long> byProficiency;
+    }
+
+    public static Map<String, Long> byLabel(Map<String, Long> counts) {
+        Map<String, Long> labelled = new LinkedHashMap<>();
+        for (Proficiency proficiency : Proficiency.values()) {
+            labelled.put(proficiency.getLabel(), counts.getOrDefault(proficiency.name(), 0L));
+        }
+        labelled.put("Unspecified", counts.getOrDefault(SkillRollup.UNSPECIFIED, 0L));
+        return labelled;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.skilltracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A skill found by search together with its owner. Only the owner's id and username are filled in.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillMatch {
+
+    private Skill skill;
+
+    private User owner;
+}
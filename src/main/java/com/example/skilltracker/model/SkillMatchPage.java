@@ -0,0 +1,21 @@
+package com.example.skilltracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of search results. Pass {@code nextCursor} back as {@code after} with the same
+ * query to continue; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillMatchPage {
+
+    private List<SkillMatch> items;
+
+    private String nextCursor;
+}
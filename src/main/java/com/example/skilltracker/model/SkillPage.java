@@ -0,0 +1,21 @@
+package com.example.skilltracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's skills. {@code nextCursor} is opaque to clients; pass it back as
+ * {@code after} to get the following page. It is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillPage {
+
+    private List<Skill> items;
+
+    private String nextCursor;
+}
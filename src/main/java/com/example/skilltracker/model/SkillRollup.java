@@ -0,0 +1,79 @@
+package com.example.skilltracker.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A running skill count kept up to date on every skill write: one document for the whole org,
+ * one per distinct skill name (case-insensitive) and one per user. Instances are also used as
+ * the deltas applied to the stored documents.
+ */
+@Document(collection = "skill_analytics")
+// Top skills are read straight off this index
+@CompoundIndex(name = "kind_total_idx", def = "{'kind': 1, 'total': -1}")
+@Data
+@NoArgsConstructor
+public class SkillRollup {
+
+    public static final String ORG_ID = "org";
+    // Counter key for skills saved without a proficiency
+    public static final String UNSPECIFIED = "UNSPECIFIED";
+
+    public enum Kind { ORG, SKILL, USER }
+
+    @Id
+    private String id;
+
+    private Kind kind;
+
+    // Display name of a SKILL rollup, as last written
+    private String name;
+
+    private long total;
+
+    // ORG only: users holding at least one skill
+    private long users;
+
+    // By Proficiency constant name, plus UNSPECIFIED
+    private Map<String, Long> counts = new HashMap<>();
+
+    public SkillRollup(String id, Kind kind) {
+        this.id = id;
+        this.kind = kind;
+    }
+
+    public static SkillRollup org() {
+        return new SkillRollup(ORG_ID, Kind.ORG);
+    }
+
+    public static SkillRollup skill(String name) {
+        SkillRollup rollup = new SkillRollup(skillId(name), Kind.SKILL);
+        rollup.setName(name);
+        return rollup;
+    }
+
+    // Names differing only in case share a rollup
+    public static String skillId(String name) {
+        return "skill:" + Skill.lowerCase(name);
+    }
+
+    public static SkillRollup user(ObjectId userId) {
+        return new SkillRollup("user:" + userId.toHexString(), Kind.USER);
+    }
+
+    public static String countKey(Proficiency proficiency) {
+        return proficiency == null ? UNSPECIFIED : proficiency.name();
+    }
+
+    public void add(Proficiency proficiency, long delta) {
+        total += delta;
+        counts.merge(countKey(proficiency), delta, Long::sum);
+    }
+}
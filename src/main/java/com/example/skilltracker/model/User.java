@@ -1,11 +1,14 @@
 package com.example.skilltracker.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.NonNull;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.stereotype.Component;
 
@@ -14,6 +17,7 @@ import java.util.List;
 
 
 @Document(collection = "users")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 public class User {
 
@@ -23,10 +27,18 @@ public class User {
 
     private String username;
 
+    // Accepted on register/update but never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     private List<String> roles;
 
-    @DBRef
+    // Bumped after every change to the user's skills; backs the ETag on the skill list
+    @JsonIgnore
+    private Long skillsVersion;
+
+    // Skills live in the skills collection keyed by userId and are only filled in for API responses.
+    // Older documents may still carry a "skills" array of DBRefs; see SkillRepositoryCustom.
+    @Transient
     private List<Skill> skills = new ArrayList<>();
 }
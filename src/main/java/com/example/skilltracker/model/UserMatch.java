@@ -0,0 +1,21 @@
+package com.example.skilltracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user returned by the similarity and expert searches. Only the user's id and username are
+ * filled in; {@code shared} is the number of skills that matched and {@code score} is in [0, 1].
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserMatch {
+
+    private User user;
+
+    private double score;
+
+    private int shared;
+}
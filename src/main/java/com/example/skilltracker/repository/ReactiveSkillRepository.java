@@ -0,0 +1,21 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.Skill;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link SkillRepository}, used by the reactive web stack.
+ * {@link #findByUserId} streams from the Mongo cursor with demand-driven batches.
+ */
+@Repository
+public interface ReactiveSkillRepository extends ReactiveMongoRepository<Skill, ObjectId>, ReactiveSkillRepositoryCustom {
+    public Flux<Skill> findByUserId(ObjectId userId);
+
+    public Mono<Long> deleteByIdAndUserId(ObjectId id, ObjectId userId);
+
+    public Mono<Long> deleteByUserId(ObjectId userId);
+}
@@ -0,0 +1,27 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive versions of the {@link SkillRepositoryCustom} write operations, with the same semantics.
+ */
+public interface ReactiveSkillRepositoryCustom {
+
+    /**
+     * @see SkillRepositoryCustom#insertSkill(Skill)
+     */
+    Mono<Boolean> insertSkill(Skill skill);
+
+    /**
+     * @see SkillRepositoryCustom#updateSkillFields(ObjectId, ObjectId, String, Proficiency)
+     */
+    Mono<Skill> updateSkillFields(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency);
+
+    /**
+     * @see SkillRepositoryCustom#removeSkill(ObjectId, ObjectId)
+     */
+    Mono<Skill> removeSkill(ObjectId userId, ObjectId skillId);
+}
@@ -0,0 +1,57 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class ReactiveSkillRepositoryCustomImpl implements ReactiveSkillRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Boolean> insertSkill(Skill skill) {
+        if (skill.getId() == null) {
+            skill.setId(new ObjectId());
+        }
+        Update update = new Update()
+                .setOnInsert("name", skill.getName())
+                .setOnInsert("nameLower", skill.getNameLower())
+                .setOnInsert("proficiency", skill.getProficiency())
+                .setOnInsert("proficiencyRank", skill.getProficiencyRank());
+        return reactiveMongoTemplate.upsert(ownedSkill(skill.getUserId(), skill.getId()), update, Skill.class)
+                .map(result -> result.getUpsertedId() != null);
+    }
+
+    @Override
+    public Mono<Skill> updateSkillFields(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency) {
+        Update update = new Update();
+        if (name != null && !name.isEmpty()) {
+            update.set("name", name).set("nameLower", Skill.lowerCase(name));
+        }
+        if (proficiency != null) {
+            update.set("proficiency", proficiency).set("proficiencyRank", proficiency.getRank());
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return reactiveMongoTemplate.findOne(ownedSkill(userId, skillId), Skill.class);
+        }
+        return reactiveMongoTemplate.findAndModify(ownedSkill(userId, skillId), update, Skill.class);
+    }
+
+    @Override
+    public Mono<Skill> removeSkill(ObjectId userId, ObjectId skillId) {
+        return reactiveMongoTemplate.findAndRemove(ownedSkill(userId, skillId), Skill.class);
+    }
+
+    private Query ownedSkill(ObjectId userId, ObjectId skillId) {
+        return query(where("_id").is(skillId).and("userId").is(userId));
+    }
+}
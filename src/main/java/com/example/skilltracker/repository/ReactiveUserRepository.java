@@ -0,0 +1,15 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository}, used by the reactive web stack.
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, ObjectId>, ReactiveUserRepositoryCustom {
+    public Mono<User> findUserByUsername(String username);
+}
@@ -0,0 +1,23 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive versions of the {@link UserRepositoryCustom} operations.
+ */
+public interface ReactiveUserRepositoryCustom {
+
+    Mono<Void> updateAccount(User user);
+
+    /**
+     * @return whether a user with that id exists
+     */
+    Mono<Boolean> incrementSkillsVersion(ObjectId id);
+
+    /**
+     * @return the user's skill-list version, 0 when the user is missing or has never been bumped
+     */
+    Mono<Long> findSkillsVersion(ObjectId id);
+}
@@ -0,0 +1,42 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Void> updateAccount(User user) {
+        Update update = new Update()
+                .set("username", user.getUsername())
+                .set("password", user.getPassword())
+                .set("roles", user.getRoles());
+        return reactiveMongoTemplate.updateFirst(query(where("_id").is(user.getId())), update, User.class).then();
+    }
+
+    @Override
+    public Mono<Boolean> incrementSkillsVersion(ObjectId id) {
+        return reactiveMongoTemplate.updateFirst(query(where("_id").is(id)), new Update().inc("skillsVersion", 1), User.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Long> findSkillsVersion(ObjectId id) {
+        Query query = query(where("_id").is(id));
+        query.fields().include("skillsVersion");
+        return reactiveMongoTemplate.findOne(query, User.class)
+                .map(user -> user.getSkillsVersion() == null ? 0L : user.getSkillsVersion())
+                .defaultIfEmpty(0L);
+    }
+}
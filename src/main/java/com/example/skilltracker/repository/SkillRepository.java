@@ -3,9 +3,24 @@ package com.example.skilltracker.repository;
 import com.example.skilltracker.model.Skill;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.support.MongoRepositoryFactoryBean;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface SkillRepository extends MongoRepository<Skill, ObjectId> {
+public interface SkillRepository extends MongoRepository<Skill, ObjectId>, SkillRepositoryCustom {
+    public List<Skill> findByUserId(ObjectId userId);
+
+    public List<Skill> findByUserIdIn(Collection<ObjectId> userIds);
+
+    // Backed by a Mongo cursor; callers must close the stream
+    public Stream<Skill> streamAllByUserId(ObjectId userId);
+
+    public boolean existsByIdAndUserId(ObjectId id, ObjectId userId);
+
+    public long deleteByIdAndUserId(ObjectId id, ObjectId userId);
+
+    public long deleteByUserId(ObjectId userId);
 }
@@ -0,0 +1,129 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Skill operations that need more than a derived query.
+ *
+ * Users used to reference their skills through a {@code @DBRef} array on the user document,
+ * which cost one query per skill on every load. Skills now carry an indexed {@code userId}
+ * instead; the methods below move old documents over to that layout.
+ */
+public interface SkillRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} of the user's skills ordered by {@code sortField} and then {@code _id},
+     * starting strictly after the ({@code afterValue}, {@code afterId}) position when {@code afterId} is set.
+     * When {@code fields} is non-empty only those fields (plus id and the sort field) are read from Mongo.
+     */
+    List<Skill> findPage(ObjectId userId, String sortField, Object afterValue, ObjectId afterId,
+                         int limit, Collection<String> fields);
+
+    /**
+     * Inserts the skill in a single upsert keyed by its id and owner. A client-supplied id makes
+     * the call idempotent: replaying it leaves the stored skill untouched, while reusing an id
+     * that belongs to another user fails with a duplicate key error.
+     *
+     * @return true if the skill was inserted, false if the call was a replay of an earlier one
+     */
+    boolean insertSkill(Skill skill);
+
+    /**
+     * Inserts a batch of skills in one unordered bulk write. A failing item does not stop the rest.
+     *
+     * @return error message per failed position in {@code skills}; empty when everything was stored
+     */
+    Map<Integer, String> insertBatch(List<Skill> skills);
+
+    /**
+     * Sets name and/or proficiency on one of the user's skills in place; null or empty values
+     * are left alone.
+     *
+     * @return the skill as it was before the update, or null if the user owns no skill with that id
+     */
+    Skill updateSkillFields(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency);
+
+    /**
+     * Applies name and/or proficiency changes to several of the user's skills in one unordered bulk
+     * write, with the same rules as {@link #updateSkillFields}. The current values are read in one
+     * query first; when the write then matches fewer skills, one more query finds those deleted in between.
+     *
+     * @return the skills as they were before the update, by id; ids the user does not own, or no
+     *         longer owns when the write lands, are absent
+     */
+    Map<ObjectId, Skill> updateSkillsFields(ObjectId userId, Collection<Skill> changes);
+
+    /**
+     * Deletes one of the user's skills.
+     *
+     * @return the deleted skill, or null if the user owns no skill with that id
+     */
+    Skill removeSkill(ObjectId userId, ObjectId skillId);
+
+    /**
+     * Skills of any user whose name starts with {@code prefixLower} (already lower-cased), in
+     * (nameLower, _id) order, starting strictly after ({@code afterName}, {@code afterId}) when
+     * {@code afterId} is set. Served as a range scan on the nameLower index.
+     */
+    List<Skill> findByNamePrefix(String prefixLower, String afterName, ObjectId afterId, int limit);
+
+    /**
+     * Skills of any user whose name matches the words in {@code text} through the text index,
+     * best matches first.
+     */
+    List<Skill> findByText(String text, int skip, int limit);
+
+    /**
+     * Every skill that has an owner, with only id, userId, name and proficiency read. Backed by a
+     * Mongo cursor; callers must close the stream.
+     */
+    Stream<Skill> streamAllOwned();
+
+    /**
+     * Fills in nameLower on skills written before it existed.
+     *
+     * @return number of skills updated
+     */
+    long backfillNameLower();
+
+    /**
+     * Rewrites free-text proficiency values left from before the enum existed to the constant
+     * name they map to, so grouping sees one spelling per level, and fills in the rank that sorting
+     * by level uses wherever it is missing. Values that map to
+     * no level already read as null; they are moved to {@code legacyProficiency} so the stored
+     * field agrees with what is read, which keyset paging on proficiency relies on.
+     *
+     * @return number of skills updated
+     */
+    long normalizeProficiencies();
+
+    /**
+     * Stamps the user's id onto every skill still referenced from the legacy DBRef array
+     * and then removes the array. Safe to call repeatedly.
+     *
+     * @return number of skills that were moved over
+     */
+    long claimLegacySkills(ObjectId userId);
+
+    /**
+     * Runs {@link #claimLegacySkills(ObjectId)} for those of the given users that still have a
+     * DBRef array, found with one query.
+     *
+     * @return ids of the users that had skills moved over
+     */
+    List<ObjectId> claimLegacySkills(Collection<ObjectId> userIds);
+
+    /**
+     * Runs {@link #claimLegacySkills(ObjectId)} for every user that still has a DBRef array.
+     *
+     * @return number of users migrated
+     */
+    long migrateAllLegacySkills();
+}
@@ -0,0 +1,282 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class SkillRepositoryCustomImpl implements SkillRepositoryCustom {
+
+    private static final String LEGACY_SKILLS_FIELD = "skills";
+    private static final String LEGACY_PROFICIENCY_FIELD = "legacyProficiency";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Skill> findPage(ObjectId userId, String sortField, Object afterValue, ObjectId afterId,
+                                int limit, Collection<String> fields) {
+        Criteria criteria = where("userId").is(userId);
+        if (afterId != null) {
+            if ("_id".equals(sortField)) {
+                criteria.and("_id").gt(afterId);
+            } else if (afterValue == null) {
+                // Nulls sort first: finish the remaining nulls, then everything that has a value
+                criteria.orOperator(new Criteria().andOperator(where(sortField).is(null), where("_id").gt(afterId)),
+                        where(sortField).ne(null));
+            } else {
+                criteria.orOperator(where(sortField).gt(afterValue),
+                        new Criteria().andOperator(where(sortField).is(afterValue), where("_id").gt(afterId)));
+            }
+        }
+        Sort sort = "_id".equals(sortField) ? Sort.by("_id") : Sort.by(sortField, "_id");
+        Query page = query(criteria).with(sort).limit(limit);
+        if (fields != null && !fields.isEmpty()) {
+            page.fields().include(fields.toArray(String[]::new)).include(sortField);
+        }
+        return mongoTemplate.find(page, Skill.class);
+    }
+
+    @Override
+    public boolean insertSkill(Skill skill) {
+        if (skill.getId() == null) {
+            skill.setId(new ObjectId());
+        }
+        Update update = new Update()
+                .setOnInsert("name", skill.getName())
+                .setOnInsert("nameLower", skill.getNameLower())
+                .setOnInsert("proficiency", skill.getProficiency())
+                .setOnInsert("proficiencyRank", skill.getProficiencyRank());
+        return mongoTemplate.upsert(ownedSkill(skill.getUserId(), skill.getId()), update, Skill.class)
+                .getUpsertedId() != null;
+    }
+
+    @Override
+    public Map<Integer, String> insertBatch(List<Skill> skills) {
+        if (skills.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Skill.class).insert(skills).execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new TreeMap<>();
+            e.getErrors().forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+            return failures;
+        }
+    }
+
+    @Override
+    public Skill updateSkillFields(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency) {
+        Update update = fieldsUpdate(name, proficiency);
+        if (update.getUpdateObject().isEmpty()) {
+            return mongoTemplate.findOne(ownedSkill(userId, skillId), Skill.class);
+        }
+        // The previous values let listeners move analytics counts from the old bucket to the new one
+        return mongoTemplate.findAndModify(ownedSkill(userId, skillId), update, Skill.class);
+    }
+
+    @Override
+    public Map<ObjectId, Skill> updateSkillsFields(ObjectId userId, Collection<Skill> changes) {
+        List<ObjectId> ids = changes.stream().map(Skill::getId).toList();
+        Map<ObjectId, Skill> previous = new HashMap<>();
+        mongoTemplate.find(query(where("userId").is(userId).and("_id").in(ids)), Skill.class)
+                .forEach(skill -> previous.put(skill.getId(), skill));
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Skill.class);
+        int queued = 0;
+        for (Skill change : changes) {
+            Update update = fieldsUpdate(change.getName(), change.getProficiency());
+            if (previous.containsKey(change.getId()) && !update.getUpdateObject().isEmpty()) {
+                bulk.updateOne(ownedSkill(userId, change.getId()), update);
+                queued++;
+            }
+        }
+        if (queued > 0 && bulk.execute().getMatchedCount() < queued) {
+            // Deleted between the read and the write: no update landed, so none may be reported
+            Query stillOwned = query(where("userId").is(userId).and("_id").in(previous.keySet()));
+            stillOwned.fields().include("_id");
+            Set<ObjectId> remaining = new HashSet<>();
+            mongoTemplate.find(stillOwned, Document.class, collection(Skill.class))
+                    .forEach(document -> remaining.add(document.getObjectId("_id")));
+            previous.keySet().retainAll(remaining);
+        }
+        return previous;
+    }
+
+    @Override
+    public Skill removeSkill(ObjectId userId, ObjectId skillId) {
+        return mongoTemplate.findAndRemove(ownedSkill(userId, skillId), Skill.class);
+    }
+
+    @Override
+    public List<Skill> findByNamePrefix(String prefixLower, String afterName, ObjectId afterId, int limit) {
+        Criteria criteria = where("nameLower").gte(prefixLower);
+        String upperBound = prefixUpperBound(prefixLower);
+        if (upperBound != null) {
+            criteria.lt(upperBound);
+        } else {
+            criteria.regex("^" + Pattern.quote(prefixLower));
+        }
+        if (afterId != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(where("nameLower").gt(afterName),
+                    new Criteria().andOperator(where("nameLower").is(afterName), where("_id").gt(afterId))));
+        }
+        return mongoTemplate.find(query(criteria).with(Sort.by("nameLower", "_id")).limit(limit), Skill.class);
+    }
+
+    @Override
+    public List<Skill> findByText(String text, int skip, int limit) {
+        Query search = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text)).sortByScore()
+                .skip(skip).limit(limit);
+        return mongoTemplate.find(search, Skill.class);
+    }
+
+    @Override
+    public Stream<Skill> streamAllOwned() {
+        Query owned = query(where("userId").ne(null));
+        owned.fields().include("userId", "name", "proficiency");
+        return mongoTemplate.stream(owned, Skill.class);
+    }
+
+    @Override
+    public long backfillNameLower() {
+        Query missing = query(where("nameLower").is(null).and("name").ne(null));
+        missing.fields().include("name");
+        long updated = 0;
+        try (Stream<Skill> skills = mongoTemplate.stream(missing, Skill.class)) {
+            for (Skill skill : (Iterable<Skill>) skills::iterator) {
+                mongoTemplate.updateFirst(query(where("_id").is(skill.getId())),
+                        Update.update("nameLower", skill.getNameLower()), Skill.class);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public long normalizeProficiencies() {
+        long updated = 0;
+        for (String stored : mongoTemplate.findDistinct(new Query(), "proficiency", collection(Skill.class), String.class)) {
+            Proficiency proficiency = Proficiency.lenient(stored);
+            if (proficiency == null) {
+                updated += mongoTemplate.updateMulti(query(where("proficiency").is(stored)),
+                        new Update().rename("proficiency", LEGACY_PROFICIENCY_FIELD), Skill.class).getModifiedCount();
+            } else {
+                // Canonical spellings only need the rank, which documents older than it lack
+                Query outdated = proficiency.name().equals(stored)
+                        ? query(where("proficiency").is(stored).and("proficiencyRank").ne(proficiency.getRank()))
+                        : query(where("proficiency").is(stored));
+                updated += mongoTemplate.updateMulti(outdated, Update.update("proficiency", proficiency)
+                        .set("proficiencyRank", proficiency.getRank()), Skill.class).getModifiedCount();
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public long claimLegacySkills(ObjectId userId) {
+        Query legacyUser = query(where("_id").is(userId).and(LEGACY_SKILLS_FIELD).exists(true));
+        legacyUser.fields().include(LEGACY_SKILLS_FIELD);
+        Document document = mongoTemplate.findOne(legacyUser, Document.class, collection(User.class));
+        if (document == null) {
+            return 0;
+        }
+        List<Object> skillIds = document.getList(LEGACY_SKILLS_FIELD, Object.class).stream()
+                .filter(DBRef.class::isInstance)
+                .map(ref -> ((DBRef) ref).getId())
+                .toList();
+        long claimed = 0;
+        if (!skillIds.isEmpty()) {
+            claimed = mongoTemplate.updateMulti(query(where("_id").in(skillIds)),
+                    Update.update("userId", userId), Skill.class).getMatchedCount();
+        }
+        mongoTemplate.updateFirst(query(where("_id").is(userId)),
+                new Update().unset(LEGACY_SKILLS_FIELD), collection(User.class));
+        return claimed;
+    }
+
+    @Override
+    public List<ObjectId> claimLegacySkills(Collection<ObjectId> userIds) {
+        Query legacyUsers = query(where("_id").in(userIds).and(LEGACY_SKILLS_FIELD).exists(true));
+        legacyUsers.fields().include("_id");
+        List<ObjectId> claimed = new ArrayList<>();
+        for (Document user : mongoTemplate.find(legacyUsers, Document.class, collection(User.class))) {
+            if (claimLegacySkills(user.getObjectId("_id")) > 0) {
+                claimed.add(user.getObjectId("_id"));
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public long migrateAllLegacySkills() {
+        Query legacyUsers = query(where(LEGACY_SKILLS_FIELD).exists(true));
+        legacyUsers.fields().include("_id");
+        long migrated = 0;
+        try (Stream<Document> ids = mongoTemplate.stream(legacyUsers, Document.class, collection(User.class))) {
+            for (Document id : (Iterable<Document>) ids::iterator) {
+                claimLegacySkills(id.getObjectId("_id"));
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    // Smallest string above every string starting with the prefix: its last character bumped by one.
+    // Null when that would not be a valid string; callers then fall back to an anchored regex.
+    private static String prefixUpperBound(String prefix) {
+        if (prefix.isEmpty()) {
+            return null;
+        }
+        char last = prefix.charAt(prefix.length() - 1);
+        boolean bumpable = Character.isSurrogate(last)
+                ? Character.isLowSurrogate(last) && last != Character.MAX_LOW_SURROGATE
+                : last != Character.MAX_VALUE && last != Character.MIN_HIGH_SURROGATE - 1;
+        return bumpable ? prefix.substring(0, prefix.length() - 1) + (char) (last + 1) : null;
+    }
+
+    private static Update fieldsUpdate(String name, Proficiency proficiency) {
+        Update update = new Update();
+        if (name != null && !name.isEmpty()) {
+            update.set("name", name).set("nameLower", Skill.lowerCase(name));
+        }
+        if (proficiency != null) {
+            update.set("proficiency", proficiency).set("proficiencyRank", proficiency.getRank());
+        }
+        return update;
+    }
+
+    private Query ownedSkill(ObjectId userId, ObjectId skillId) {
+        return query(where("_id").is(skillId).and("userId").is(userId));
+    }
+
+    private String collection(Class<?> type) {
+        return mongoTemplate.getCollectionName(type);
+    }
+}
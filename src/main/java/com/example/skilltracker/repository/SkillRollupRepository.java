@@ -0,0 +1,13 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.SkillRollup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SkillRollupRepository extends MongoRepository<SkillRollup, String>, SkillRollupRepositoryCustom {
+    public List<SkillRollup> findByKindOrderByTotalDesc(SkillRollup.Kind kind, Limit limit);
+}
@@ -0,0 +1,35 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.SkillRollup;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+
+/**
+ * Writes to the skill analytics rollups. Increments are atomic per document, so nodes can
+ * apply them concurrently in any order.
+ */
+public interface SkillRollupRepositoryCustom {
+
+    /**
+     * Adds the user's skill count delta.
+     *
+     * @return the user's skill count after the change
+     */
+    long incrementUserSkills(ObjectId userId, long delta);
+
+    /**
+     * Adds each delta's total, users and counts onto the stored rollup with the same id, creating
+     * it when missing, in one unordered bulk write.
+     */
+    void increment(Collection<SkillRollup> deltas);
+
+    /**
+     * Recomputes every rollup from the skills collection with aggregation pipelines and swaps the
+     * result in for the stored ones at once. Increments applied while it runs are replaced with
+     * everything else, so callers hold theirs back until it returns.
+     *
+     * @return number of skills counted
+     */
+    long rebuild();
+}
@@ -0,0 +1,122 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillRollup;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class SkillRollupRepositoryCustomImpl implements SkillRollupRepositoryCustom {
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+    private static final String STAGING_SUFFIX = "_rebuild";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public long incrementUserSkills(ObjectId userId, long delta) {
+        SkillRollup user = SkillRollup.user(userId);
+        Update update = new Update().inc("total", delta).setOnInsert("kind", SkillRollup.Kind.USER);
+        SkillRollup updated = mongoTemplate.findAndModify(query(where("_id").is(user.getId())), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), SkillRollup.class);
+        return updated == null ? 0 : updated.getTotal();
+    }
+
+    @Override
+    public void increment(Collection<SkillRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SkillRollup.class);
+        for (SkillRollup delta : deltas) {
+            Update update = new Update().inc("total", delta.getTotal()).setOnInsert("kind", delta.getKind());
+            if (delta.getUsers() != 0) {
+                update.inc("users", delta.getUsers());
+            }
+            delta.getCounts().forEach((key, count) -> update.inc("counts." + key, count));
+            if (delta.getName() != null) {
+                update.set("name", delta.getName());
+            }
+            bulk.upsert(query(where("_id").is(delta.getId())), update);
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public long rebuild() {
+        SkillRollup org = SkillRollup.org();
+        Map<String, SkillRollup> skills = new HashMap<>();
+        // Grouped by the stored name rather than nameLower, which older skills may not have yet;
+        // names differing only in case are merged here
+        Aggregation byName = newAggregation(
+                match(where("userId").ne(null)),
+                group("name", "proficiency").count().as("count"));
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(byName, Skill.class, Document.class)) {
+            groups.forEach(group -> {
+                Document key = group.get("_id", Document.class);
+                String name = key.getString("name");
+                Object stored = key.get("proficiency");
+                Proficiency proficiency = stored instanceof String value ? Proficiency.lenient(value) : null;
+                long count = ((Number) group.get("count")).longValue();
+                org.add(proficiency, count);
+                if (name != null) {
+                    skills.computeIfAbsent(SkillRollup.skillId(name), id -> SkillRollup.skill(name)).add(proficiency, count);
+                }
+            });
+        }
+
+        List<SkillRollup> rollups = new ArrayList<>(skills.values());
+        Aggregation byUser = newAggregation(
+                match(where("userId").ne(null)),
+                group("userId").count().as("count"));
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(byUser, Skill.class, Document.class)) {
+            groups.forEach(group -> {
+                SkillRollup user = SkillRollup.user(group.getObjectId("_id"));
+                user.setTotal(((Number) group.get("count")).longValue());
+                rollups.add(user);
+                org.setUsers(org.getUsers() + 1);
+            });
+        }
+        rollups.add(org);
+
+        // Built aside and renamed over the live collection, so readers and increments never see it half written
+        String live = mongoTemplate.getCollectionName(SkillRollup.class);
+        String staging = live + STAGING_SUFFIX;
+        mongoTemplate.dropCollection(staging);
+        IndexOperations indexes = mongoTemplate.indexOps(staging);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(SkillRollup.class).forEach(indexes::ensureIndex);
+        for (int from = 0; from < rollups.size(); from += WRITE_BATCH_SIZE) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SkillRollup.class, staging)
+                    .insert(rollups.subList(from, Math.min(from + WRITE_BATCH_SIZE, rollups.size())))
+                    .execute();
+        }
+        mongoTemplate.getCollection(staging).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), live), new RenameCollectionOptions().dropTarget(true));
+        return org.getTotal();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Writes username, password and roles of an existing user with a field-level update
+     * instead of replacing the whole document.
+     */
+    void updateAccount(User user);
+
+    /**
+     * Streams users in {@code _id} order starting strictly after {@code afterId} (from the start when
+     * null), at most {@code limit} of them when positive. Only id and the given fields are read; with
+     * {@code fields} null everything except the password hash and any legacy skill array is read.
+     * Backed by a Mongo cursor; callers must close the stream.
+     */
+    Stream<User> streamAfter(ObjectId afterId, int limit, Collection<String> fields);
+
+    /**
+     * Loads id and username of the given users in one query, for labelling search results.
+     */
+    List<User> findUsernamesByIds(Collection<ObjectId> ids);
+
+    /**
+     * Number of users from collection metadata, without scanning it.
+     */
+    long estimateCount();
+
+    /**
+     * Atomically increments the user's skill-list version.
+     *
+     * @return false if no such user exists
+     */
+    boolean incrementSkillsVersion(ObjectId id);
+
+    /**
+     * Adds {@code delta} to the user's skill-list version, for writes applied as one batch.
+     *
+     * @return false if no such user exists
+     */
+    boolean incrementSkillsVersion(ObjectId id, long delta);
+
+    /**
+     * Reads only the skill-list version; 0 for users that never had a skill change or do not exist.
+     */
+    long findSkillsVersion(ObjectId id);
+}
@@ -0,0 +1,81 @@
+package com.example.skilltracker.repository;
+
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    // Documents per cursor round trip when streaming; bounds what the driver holds at once
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void updateAccount(User user) {
+        Update update = new Update()
+                .set("username", user.getUsername())
+                .set("password", user.getPassword())
+                .set("roles", user.getRoles());
+        mongoTemplate.updateFirst(query(where("_id").is(user.getId())), update, User.class);
+    }
+
+    @Override
+    public Stream<User> streamAfter(ObjectId afterId, int limit, Collection<String> fields) {
+        Query query = afterId == null ? new Query() : query(where("_id").gt(afterId));
+        query.with(Sort.by("_id")).cursorBatchSize(STREAM_BATCH_SIZE);
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        if (fields == null) {
+            query.fields().exclude("password", "skills");
+        } else {
+            query.fields().include("_id");
+            fields.stream().filter(field -> !field.equals("password") && !field.equals("skills")).forEach(query.fields()::include);
+        }
+        return mongoTemplate.stream(query, User.class);
+    }
+
+    @Override
+    public List<User> findUsernamesByIds(Collection<ObjectId> ids) {
+        Query query = query(where("_id").in(ids));
+        query.fields().include("_id", "username");
+        return mongoTemplate.find(query, User.class);
+    }
+
+    @Override
+    public long estimateCount() {
+        return mongoTemplate.estimatedCount(User.class);
+    }
+
+    @Override
+    public boolean incrementSkillsVersion(ObjectId id) {
+        return incrementSkillsVersion(id, 1);
+    }
+
+    @Override
+    public boolean incrementSkillsVersion(ObjectId id, long delta) {
+        return mongoTemplate.updateFirst(query(where("_id").is(id)), new Update().inc("skillsVersion", delta), User.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public long findSkillsVersion(ObjectId id) {
+        Query query = query(where("_id").is(id));
+        query.fields().include("skillsVersion");
+        User user = mongoTemplate.findOne(query, User.class);
+        return user == null || user.getSkillsVersion() == null ? 0 : user.getSkillsVersion();
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.skilltracker.repository.memory;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * One collection of the in-memory engine: documents keyed by their {@code _id}, each held as its
+ * encoded BSON bytes. Stored arrays are never modified, so readers need no lock and always decode
+ * a private copy, much as a Mongo client gets its own objects back.
+ *
+ * Writes are serialized on the collection so the secondary indexes move in step with the
+ * documents; an index may still briefly name a document a concurrent reader no longer finds,
+ * and readers skip those.
+ */
+public class InMemoryCollection {
+
+    private static final DocumentCodec CODEC = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+    /**
+     * Secondary index maintained under the collection's write lock.
+     */
+    public interface Index {
+
+        void add(Object id, Document document);
+
+        void remove(Object id, Document document);
+    }
+
+    private final String name;
+    private final Map<Object, byte[]> documents = new ConcurrentHashMap<>();
+    private final List<Index> indexes = new ArrayList<>();
+
+    public InMemoryCollection(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public boolean contains(Object id) {
+        return documents.containsKey(id);
+    }
+
+    public Document get(Object id) {
+        byte[] bytes = id == null ? null : documents.get(id);
+        return bytes == null ? null : decode(bytes);
+    }
+
+    /**
+     * Every document in no particular order, decoded lazily.
+     */
+    public Stream<Document> stream() {
+        return documents.values().stream().map(InMemoryCollection::decode);
+    }
+
+    /**
+     * Adds an index and fills it from the documents already stored.
+     */
+    public synchronized void addIndex(Index index) {
+        documents.forEach((id, bytes) -> index.add(id, decode(bytes)));
+        indexes.add(index);
+    }
+
+    /**
+     * Stores the document under its {@code _id}, replacing any previous one.
+     *
+     * @return the replaced document, or null
+     */
+    public synchronized Document put(Document document) {
+        Object id = document.get("_id");
+        byte[] previous = documents.put(id, encode(document));
+        Document replaced = previous == null ? null : decode(previous);
+        reindex(id, replaced, document);
+        return replaced;
+    }
+
+    /**
+     * Stores the document only if its {@code _id} is not taken.
+     *
+     * @return false if a document with that id already exists
+     */
+    public synchronized boolean insert(Document document) {
+        Object id = document.get("_id");
+        if (documents.putIfAbsent(id, encode(document)) != null) {
+            return false;
+        }
+        reindex(id, null, document);
+        return true;
+    }
+
+    /**
+     * Applies {@code change} to a copy of the stored document and stores the result, atomically with
+     * respect to other writes.
+     *
+     * @return the document as it was before, or null if there is none
+     */
+    public Document update(Object id, Consumer<Document> change) {
+        return update(id, document -> true, change);
+    }
+
+    /**
+     * Like {@link #update(Object, Consumer)}, but only when the stored document matches {@code filter}.
+     *
+     * @return the document as it was before, or null if there is none or it does not match
+     */
+    public synchronized Document update(Object id, Predicate<Document> filter, Consumer<Document> change) {
+        byte[] bytes = id == null ? null : documents.get(id);
+        if (bytes == null) {
+            return null;
+        }
+        Document previous = decode(bytes);
+        if (!filter.test(previous)) {
+            return null;
+        }
+        Document updated = decode(bytes);
+        change.accept(updated);
+        documents.put(id, encode(updated));
+        reindex(id, previous, updated);
+        return previous;
+    }
+
+    /**
+     * Applies {@code change} to the stored document, or to a new one holding only the id.
+     *
+     * @return the stored document after the change
+     */
+    public synchronized Document upsert(Object id, Consumer<Document> change) {
+        byte[] bytes = documents.get(id);
+        Document previous = bytes == null ? null : decode(bytes);
+        Document updated = bytes == null ? new Document("_id", id) : decode(bytes);
+        change.accept(updated);
+        documents.put(id, encode(updated));
+        reindex(id, previous, updated);
+        return updated;
+    }
+
+    /**
+     * @return the removed document, or null if there was none
+     */
+    public Document remove(Object id) {
+        return remove(id, document -> true);
+    }
+
+    /**
+     * Removes the document only when it matches {@code filter}.
+     *
+     * @return the removed document, or null if there was none or it does not match
+     */
+    public synchronized Document remove(Object id, Predicate<Document> filter) {
+        byte[] bytes = id == null ? null : documents.get(id);
+        if (bytes == null) {
+            return null;
+        }
+        Document removed = decode(bytes);
+        if (!filter.test(removed)) {
+            return null;
+        }
+        documents.remove(id);
+        reindex(id, removed, null);
+        return removed;
+    }
+
+    public synchronized void clear() {
+        List<Object> ids = new ArrayList<>(documents.keySet());
+        ids.forEach(this::remove);
+    }
+
+    // The stored arrays are immutable, so a snapshot only has to copy the references
+    synchronized List<byte[]> snapshot() {
+        return new ArrayList<>(documents.values());
+    }
+
+    synchronized void restore(List<byte[]> encoded) {
+        for (byte[] bytes : encoded) {
+            Document document = decode(bytes);
+            Object id = document.get("_id");
+            byte[] previous = documents.put(id, bytes);
+            reindex(id, previous == null ? null : decode(previous), document);
+        }
+    }
+
+    private void reindex(Object id, Document before, Document after) {
+        for (Index index : indexes) {
+            if (before != null) {
+                index.remove(id, before);
+            }
+            if (after != null) {
+                index.add(id, after);
+            }
+        }
+    }
+
+    static byte[] encode(Document document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            CODEC.encode(writer, document, EncoderContext.builder().build());
+        }
+        return buffer.toByteArray();
+    }
+
+    static Document decode(byte[] bytes) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+            return CODEC.decode(reader, DecoderContext.builder().build());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.skilltracker.repository.memory;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.repository.ReactiveSkillRepository;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveSkillRepository} over the same data as {@link InMemorySkillRepository}.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryReactiveSkillRepository extends InMemoryReactiveRepository<Skill, ObjectId> implements ReactiveSkillRepository {
+
+    private final InMemorySkillRepository skills;
+
+    public InMemoryReactiveSkillRepository(InMemorySkillRepository skills) {
+        super(skills);
+        this.skills = skills;
+    }
+
+    @Override
+    public Flux<Skill> findByUserId(ObjectId userId) {
+        return Flux.defer(() -> Flux.fromStream(skills.streamAllByUserId(userId)));
+    }
+
+    @Override
+    public Mono<Long> deleteByIdAndUserId(ObjectId id, ObjectId userId) {
+        return Mono.fromSupplier(() -> skills.deleteByIdAndUserId(id, userId));
+    }
+
+    @Override
+    public Mono<Long> deleteByUserId(ObjectId userId) {
+        return Mono.fromSupplier(() -> skills.deleteByUserId(userId));
+    }
+
+    @Override
+    public Mono<Boolean> insertSkill(Skill skill) {
+        return Mono.fromSupplier(() -> skills.insertSkill(skill));
+    }
+
+    @Override
+    public Mono<Skill> updateSkillFields(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency) {
+        return Mono.fromSupplier(() -> skills.updateSkillFields(userId, skillId, name, proficiency));
+    }
+
+    @Override
+    public Mono<Skill> removeSkill(ObjectId userId, ObjectId skillId) {
+        return Mono.fromSupplier(() -> skills.removeSkill(userId, skillId));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.skilltracker.repository.memory;
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.ReactiveUserRepository;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveUserRepository} over the same data as {@link InMemoryUserRepository}.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryReactiveUserRepository extends InMemoryReactiveRepository<User, ObjectId> implements ReactiveUserRepository {
+
+    private final InMemoryUserRepository users;
+
+    public InMemoryReactiveUserRepository(InMemoryUserRepository users) {
+        super(users);
+        this.users = users;
+    }
+
+    @Override
+    public Mono<User> findUserByUsername(String username) {
+        return Mono.fromSupplier(() -> users.findUserByUsername(username));
+    }
+
+    @Override
+    public Mono<Void> updateAccount(User user) {
+        return Mono.fromRunnable(() -> users.updateAccount(user));
+    }
+
+    @Override
+    public Mono<Boolean> incrementSkillsVersion(ObjectId id) {
+        return Mono.fromSupplier(() -> users.incrementSkillsVersion(id));
+    }
+
+    @Override
+    public Mono<Long> findSkillsVersion(ObjectId id) {
+        return Mono.fromSupplier(() -> users.findSkillsVersion(id));
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.skilltracker.repository.memory;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link MongoRepository} operations over an {@link InMemoryCollection}, shared by the in-memory
+ * repositories. Query-by-example is not supported; nothing in the application uses it.
+ */
+public abstract class InMemoryRepository<T, ID> implements MongoRepository<T, ID> {
+
+    protected final InMemoryStore store;
+    protected final InMemoryCollection collection;
+    protected final Class<T> type;
+
+    protected InMemoryRepository(InMemoryStore store, Class<T> type) {
+        this.store = store;
+        this.type = type;
+        this.collection = store.collection(type);
+    }
+
+    protected T read(Document document) {
+        return store.toEntity(type, document);
+    }
+
+    protected List<T> read(Stream<Document> documents) {
+        return documents.map(this::read).toList();
+    }
+
+    // Mongo creates ObjectIds for new documents without an id; other id types must be set by the caller
+    protected Document write(T entity) {
+        Document document = store.toDocument(entity);
+        if (document.get("_id") == null) {
+            ObjectId id = new ObjectId();
+            store.assignId(entity, id);
+            document.put("_id", id);
+        }
+        return document;
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        collection.put(write(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        Document document = write(entity);
+        if (!collection.insert(document)) {
+            throw new DuplicateKeyException("E11000 duplicate key error collection: " + collection.getName()
+                    + " dup key: { _id: " + document.get("_id") + " }");
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        entities.forEach(entity -> inserted.add(insert(entity)));
+        return inserted;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(read(collection.get(id)));
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return collection.contains(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return read(collection.stream());
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        return read(StreamSupport.stream(ids.spliterator(), false).map(collection::get).filter(d -> d != null));
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return read(collection.stream().sorted(comparator(sort)));
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<Document> sorted = collection.stream().sorted(comparator(pageable.getSort())).toList();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(read(sorted.stream()), pageable, sorted.size());
+        }
+        List<T> content = read(sorted.stream().skip(pageable.getOffset()).limit(pageable.getPageSize()));
+        return new PageImpl<>(content, pageable, sorted.size());
+    }
+
+    @Override
+    public long count() {
+        return collection.size();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        collection.remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        collection.remove(store.toDocument(entity).get("_id"));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        ids.forEach(collection::remove);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        collection.clear();
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+
+    /**
+     * Copies only the listed top-level fields (and the id), the way a Mongo inclusion projection does.
+     */
+    protected static Document project(Document document, Collection<String> fields) {
+        if (document == null) {
+            return null;
+        }
+        Document projected = new Document("_id", document.get("_id"));
+        for (String field : fields) {
+            if (document.containsKey(field)) {
+                projected.put(field, document.get(field));
+            }
+        }
+        return projected;
+    }
+
+    // Mongo's order for the values this application stores: missing and null first, then natural order
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static Comparator<Document> comparator(Sort sort) {
+        Comparator<Document> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            String field = "id".equals(order.getProperty()) ? "_id" : order.getProperty();
+            Comparator<Document> byField = Comparator.comparing(document -> (Comparable) document.get(field),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byField : byField.reversed());
+        }
+        return comparator;
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by the in-memory repositories");
+    }
+}
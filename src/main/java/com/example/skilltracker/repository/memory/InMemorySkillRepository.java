@@ -0,0 +1,354 @@
+package com.example.skilltracker.repository.memory;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.repository.SkillRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link SkillRepository}. Three secondary indexes stand in for the Mongo ones: the
+ * user's skills in id order, (nameLower, id) for prefix search, and the lower-cased words of each
+ * name for text search. Text matches are whole words ranked by how many of the query's words they
+ * contain; unlike Mongo there is no stemming or stop-word list.
+ *
+ * There is no legacy DBRef layout in this engine, so the claim and migration methods have
+ * nothing to do.
+ */
+@Repository
+@Profile("memory")
+public class InMemorySkillRepository extends InMemoryRepository<Skill, ObjectId> implements SkillRepository {
+
+    private static final Map<String, String> SORT_FIELDS = Map.of("_id", "_id", "name", "name", "proficiencyRank", "proficiencyRank");
+
+    private final Map<ObjectId, NavigableSet<ObjectId>> byUser = new ConcurrentHashMap<>();
+    // Keyed by nameLower, a NUL and the hex id, which sorts exactly as (nameLower, _id)
+    private final NavigableMap<String, ObjectId> byName = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<ObjectId>> byWord = new ConcurrentHashMap<>();
+
+    public InMemorySkillRepository(InMemoryStore store) {
+        super(store, Skill.class);
+        // Index updates run under the collection's write lock, so emptied entries can be dropped safely
+        collection.addIndex(new InMemoryCollection.Index() {
+            @Override
+            public void add(Object id, Document document) {
+                ObjectId skillId = (ObjectId) id;
+                ObjectId userId = document.getObjectId("userId");
+                if (userId != null) {
+                    byUser.computeIfAbsent(userId, key -> new ConcurrentSkipListSet<>()).add(skillId);
+                }
+                String nameLower = document.getString("nameLower");
+                if (nameLower != null) {
+                    byName.put(nameKey(nameLower, skillId), skillId);
+                }
+                for (String word : words(document.getString("name"))) {
+                    byWord.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(skillId);
+                }
+            }
+
+            @Override
+            public void remove(Object id, Document document) {
+                ObjectId skillId = (ObjectId) id;
+                ObjectId userId = document.getObjectId("userId");
+                NavigableSet<ObjectId> skills = userId == null ? null : byUser.get(userId);
+                if (skills != null && skills.remove(skillId) && skills.isEmpty()) {
+                    byUser.remove(userId);
+                }
+                String nameLower = document.getString("nameLower");
+                if (nameLower != null) {
+                    byName.remove(nameKey(nameLower, skillId));
+                }
+                for (String word : words(document.getString("name"))) {
+                    Set<ObjectId> ids = byWord.get(word);
+                    if (ids != null && ids.remove(skillId) && ids.isEmpty()) {
+                        byWord.remove(word);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<Skill> findByUserId(ObjectId userId) {
+        return read(userDocuments(userId));
+    }
+
+    @Override
+    public List<Skill> findByUserIdIn(Collection<ObjectId> userIds) {
+        return read(userIds.stream().flatMap(this::userDocuments));
+    }
+
+    @Override
+    public Stream<Skill> streamAllByUserId(ObjectId userId) {
+        return userDocuments(userId).map(this::read);
+    }
+
+    @Override
+    public boolean existsByIdAndUserId(ObjectId id, ObjectId userId) {
+        Document document = collection.get(id);
+        return document != null && ownedBy(userId).test(document);
+    }
+
+    @Override
+    public long deleteByIdAndUserId(ObjectId id, ObjectId userId) {
+        return collection.remove(id, ownedBy(userId)) == null ? 0 : 1;
+    }
+
+    @Override
+    public long deleteByUserId(ObjectId userId) {
+        NavigableSet<ObjectId> ids = byUser.get(userId);
+        if (ids == null) {
+            return 0;
+        }
+        long deleted = 0;
+        for (ObjectId id : List.copyOf(ids)) {
+            if (collection.remove(id, ownedBy(userId)) != null) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Skill> findPage(ObjectId userId, String sortField, Object afterValue, ObjectId afterId,
+                                int limit, Collection<String> fields) {
+        String field = SORT_FIELDS.get(sortField);
+        if (field == null) {
+            throw new IllegalArgumentException("Unsupported sort field " + sortField);
+        }
+        @SuppressWarnings("unchecked")
+        Comparator<Document> order = Comparator.comparing((Document document) -> (Comparable<Object>) document.get(field),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        Comparator<Document> byId = Comparator.comparing(document -> document.getObjectId("_id"));
+        Stream<Document> documents = userDocuments(userId);
+        if ("_id".equals(field)) {
+            documents = afterId == null ? documents : documents.filter(document -> document.getObjectId("_id").compareTo(afterId) > 0);
+        } else {
+            documents = documents.sorted(order.thenComparing(byId));
+            if (afterId != null) {
+                Document after = new Document("_id", afterId).append(field, afterValue);
+                documents = documents.filter(document -> order.thenComparing(byId).compare(document, after) > 0);
+            }
+        }
+        documents = documents.limit(limit);
+        if (fields != null && !fields.isEmpty()) {
+            List<String> included = new ArrayList<>(fields);
+            included.add(field);
+            documents = documents.map(document -> project(document, included));
+        }
+        return read(documents);
+    }
+
+    @Override
+    public boolean insertSkill(Skill skill) {
+        if (skill.getId() == null) {
+            skill.setId(new ObjectId());
+        }
+        Document document = write(skill);
+        // An upsert on (_id, userId): a replay is a no-op, an id owned by someone else a duplicate key
+        while (!collection.insert(document)) {
+            Document existing = collection.get(skill.getId());
+            if (existing != null) {
+                if (Objects.equals(existing.getObjectId("userId"), skill.getUserId())) {
+                    return false;
+                }
+                throw duplicateKey(skill.getId());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Map<Integer, String> insertBatch(List<Skill> skills) {
+        Map<Integer, String> failures = new TreeMap<>();
+        for (int i = 0; i < skills.size(); i++) {
+            Document document = write(skills.get(i));
+            if (!collection.insert(document)) {
+                failures.put(i, duplicateKey(document.get("_id")).getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Skill updateSkillFields(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency) {
+        Consumer<Document> change = fieldsUpdate(name, proficiency);
+        if (change == null) {
+            Document document = collection.get(skillId);
+            return document != null && ownedBy(userId).test(document) ? read(document) : null;
+        }
+        return read(collection.update(skillId, ownedBy(userId), change));
+    }
+
+    @Override
+    public Map<ObjectId, Skill> updateSkillsFields(ObjectId userId, Collection<Skill> changes) {
+        Map<ObjectId, Skill> previous = new HashMap<>();
+        for (Skill change : changes) {
+            Consumer<Document> update = fieldsUpdate(change.getName(), change.getProficiency());
+            Document before = update == null ? collection.get(change.getId()) : collection.update(change.getId(), ownedBy(userId), update);
+            if (before != null && ownedBy(userId).test(before)) {
+                previous.put(change.getId(), read(before));
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public Skill removeSkill(ObjectId userId, ObjectId skillId) {
+        return read(collection.remove(skillId, ownedBy(userId)));
+    }
+
+    @Override
+    public List<Skill> findByNamePrefix(String prefixLower, String afterName, ObjectId afterId, int limit) {
+        NavigableMap<String, ObjectId> from = afterId == null
+                ? byName.tailMap(prefixLower, true)
+                : byName.tailMap(nameKey(afterName, afterId), false);
+        List<Skill> skills = new ArrayList<>(limit);
+        for (Map.Entry<String, ObjectId> entry : from.entrySet()) {
+            if (skills.size() == limit || !entry.getKey().startsWith(prefixLower)) {
+                break;
+            }
+            Document document = collection.get(entry.getValue());
+            if (document != null) {
+                skills.add(read(document));
+            }
+        }
+        return skills;
+    }
+
+    @Override
+    public List<Skill> findByText(String text, int skip, int limit) {
+        Map<ObjectId, Integer> scores = new HashMap<>();
+        for (String word : words(text)) {
+            byWord.getOrDefault(word, Set.of()).forEach(id -> scores.merge(id, 1, Integer::sum));
+        }
+        return read(scores.entrySet().stream()
+                .sorted(Map.Entry.<ObjectId, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .skip(skip)
+                .map(entry -> collection.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .limit(limit));
+    }
+
+    @Override
+    public Stream<Skill> streamAllOwned() {
+        return collection.stream().filter(document -> document.getObjectId("userId") != null).map(this::read);
+    }
+
+    @Override
+    public long backfillNameLower() {
+        return updateWhere(document -> document.get("nameLower") == null && document.getString("name") != null,
+                document -> document.put("nameLower", Skill.lowerCase(document.getString("name"))));
+    }
+
+    @Override
+    public long normalizeProficiencies() {
+        return updateWhere(document -> {
+            String stored = document.getString("proficiency");
+            Proficiency proficiency = Proficiency.lenient(stored);
+            return stored != null && (proficiency == null || !proficiency.name().equals(stored)
+                    || !Integer.valueOf(proficiency.getRank()).equals(document.get("proficiencyRank")));
+        }, document -> {
+            String stored = document.getString("proficiency");
+            Proficiency proficiency = Proficiency.lenient(stored);
+            if (proficiency == null) {
+                document.remove("proficiency");
+                document.put("legacyProficiency", stored);
+            } else {
+                document.put("proficiency", proficiency.name());
+                document.put("proficiencyRank", proficiency.getRank());
+            }
+        });
+    }
+
+    @Override
+    public long claimLegacySkills(ObjectId userId) {
+        return 0;
+    }
+
+    @Override
+    public List<ObjectId> claimLegacySkills(Collection<ObjectId> userIds) {
+        return List.of();
+    }
+
+    @Override
+    public long migrateAllLegacySkills() {
+        return 0;
+    }
+
+    private Stream<Document> userDocuments(ObjectId userId) {
+        NavigableSet<ObjectId> ids = userId == null ? null : byUser.get(userId);
+        return ids == null ? Stream.empty() : ids.stream().map(collection::get).filter(Objects::nonNull);
+    }
+
+    private long updateWhere(Predicate<Document> filter, Consumer<Document> change) {
+        List<Object> ids = collection.stream().filter(filter).map(document -> document.get("_id")).toList();
+        return ids.stream().filter(id -> collection.update(id, filter, change) != null).count();
+    }
+
+    private static Predicate<Document> ownedBy(ObjectId userId) {
+        return document -> userId != null && userId.equals(document.getObjectId("userId"));
+    }
+
+    // Null when there is nothing to change
+    private static Consumer<Document> fieldsUpdate(String name, Proficiency proficiency) {
+        boolean setName = name != null && !name.isEmpty();
+        if (!setName && proficiency == null) {
+            return null;
+        }
+        return document -> {
+            if (setName) {
+                document.put("name", name);
+                document.put("nameLower", Skill.lowerCase(name));
+            }
+            if (proficiency != null) {
+                document.put("proficiency", proficiency.name());
+                document.put("proficiencyRank", proficiency.getRank());
+            }
+        };
+    }
+
+    private static String nameKey(String nameLower, ObjectId id) {
+        return nameLower + '\0' + id.toHexString();
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    private DuplicateKeyException duplicateKey(Object id) {
+        return new DuplicateKeyException("E11000 duplicate key error collection: " + collection.getName()
+                + " dup key: { _id: " + id + " }");
+    }
+}
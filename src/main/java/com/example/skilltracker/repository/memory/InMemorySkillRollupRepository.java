@@ -0,0 +1,112 @@
+package com.example.skilltracker.repository.memory;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillRollup;
+import com.example.skilltracker.repository.SkillRollupRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link SkillRollupRepository}. Top-skill reads scan the rollups of one kind, which
+ * the analytics service only does once per refresh.
+ */
+@Repository
+@Profile("memory")
+public class InMemorySkillRollupRepository extends InMemoryRepository<SkillRollup, String> implements SkillRollupRepository {
+
+    private final InMemoryCollection skills;
+
+    public InMemorySkillRollupRepository(InMemoryStore store) {
+        super(store, SkillRollup.class);
+        this.skills = store.collection(Skill.class);
+    }
+
+    @Override
+    public List<SkillRollup> findByKindOrderByTotalDesc(SkillRollup.Kind kind, Limit limit) {
+        Stream<Document> documents = collection.stream()
+                .filter(document -> kind.name().equals(document.getString("kind")))
+                .sorted(Comparator.comparingLong((Document document) -> total(document)).reversed());
+        if (limit.isLimited()) {
+            documents = documents.limit(limit.max());
+        }
+        return read(documents);
+    }
+
+    @Override
+    public long incrementUserSkills(ObjectId userId, long delta) {
+        Document updated = collection.upsert(SkillRollup.user(userId).getId(), document -> {
+            document.put("total", total(document) + delta);
+            document.putIfAbsent("kind", SkillRollup.Kind.USER.name());
+        });
+        return total(updated);
+    }
+
+    @Override
+    public void increment(Collection<SkillRollup> deltas) {
+        for (SkillRollup delta : deltas) {
+            collection.upsert(delta.getId(), document -> {
+                document.put("total", total(document) + delta.getTotal());
+                document.putIfAbsent("kind", delta.getKind().name());
+                if (delta.getUsers() != 0) {
+                    Number users = (Number) document.get("users");
+                    document.put("users", (users == null ? 0 : users.longValue()) + delta.getUsers());
+                }
+                if (!delta.getCounts().isEmpty()) {
+                    Document counts = document.get("counts", Document.class);
+                    if (counts == null) {
+                        counts = new Document();
+                        document.put("counts", counts);
+                    }
+                    for (Map.Entry<String, Long> count : delta.getCounts().entrySet()) {
+                        Number current = (Number) counts.get(count.getKey());
+                        counts.put(count.getKey(), (current == null ? 0 : current.longValue()) + count.getValue());
+                    }
+                }
+                if (delta.getName() != null) {
+                    document.put("name", delta.getName());
+                }
+            });
+        }
+    }
+
+    @Override
+    public long rebuild() {
+        SkillRollup org = SkillRollup.org();
+        Map<String, SkillRollup> bySkill = new HashMap<>();
+        Map<ObjectId, SkillRollup> byUser = new HashMap<>();
+        skills.stream().filter(document -> document.getObjectId("userId") != null).forEach(document -> {
+            String name = document.getString("name");
+            String stored = document.getString("proficiency");
+            Proficiency proficiency = stored == null ? null : Proficiency.lenient(stored);
+            org.add(proficiency, 1);
+            if (name != null) {
+                bySkill.computeIfAbsent(SkillRollup.skillId(name), id -> SkillRollup.skill(name)).add(proficiency, 1);
+            }
+            SkillRollup user = byUser.computeIfAbsent(document.getObjectId("userId"), SkillRollup::user);
+            user.setTotal(user.getTotal() + 1);
+        });
+        org.setUsers(byUser.size());
+
+        collection.clear();
+        Stream.of(bySkill.values().stream(), byUser.values().stream(), Stream.of(org))
+                .flatMap(rollups -> rollups)
+                .forEach(rollup -> collection.put(store.toDocument(rollup)));
+        return org.getTotal();
+    }
+
+    private static long total(Document document) {
+        Number total = (Number) document.get("total");
+        return total == null ? 0 : total.longValue();
+    }
+}
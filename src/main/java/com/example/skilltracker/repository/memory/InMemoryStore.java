@@ -0,0 +1,292 @@
+package com.example.skilltracker.repository.memory;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage behind the in-memory repositories of the "memory" profile: the named collections, and
+ * the converter that turns entities into documents exactly as the Mongo repositories would.
+ *
+ * With {@code skilltracker.memory.snapshot.path} set, the collections are written to that file
+ * every {@code interval-seconds} and at shutdown, and read back at startup. The file is the raw
+ * BSON of every document behind a small header, written and read through memory-mapped windows so
+ * a restart is a sequential scan with no parsing beyond the indexes. Each collection is captured
+ * consistently on its own; writes landing during a snapshot may be in one collection and not yet
+ * in another.
+ */
+@Component
+@Profile("memory")
+public class InMemoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryStore.class);
+
+    private static final int MAGIC = 0x534b5331;
+    // Mapped a window at a time; any single document is at most 16MB
+    private static final long WINDOW = 64L << 20;
+
+    private final Map<String, InMemoryCollection> collections = new LinkedHashMap<>();
+    private final MappingMongoConverter converter;
+    private final Path snapshotPath;
+    private final ScheduledExecutorService snapshots;
+
+    public InMemoryStore(MongoCustomConversions conversions,
+                         @Value("${skilltracker.memory.snapshot.path:}") String snapshotPath,
+                         @Value("${skilltracker.memory.snapshot.interval-seconds:300}") long intervalSeconds) throws IOException {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        this.converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        // Every collection holds one type, so no _class key is needed
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.afterPropertiesSet();
+
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        if (this.snapshotPath != null && Files.exists(this.snapshotPath)) {
+            long start = System.nanoTime();
+            restore();
+            log.info("Restored {} from {} in {} ms", sizes(), this.snapshotPath,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        if (this.snapshotPath != null && intervalSeconds > 0) {
+            this.snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "memory-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshots.scheduleWithFixedDelay(this::snapshotQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.snapshots = null;
+        }
+    }
+
+    public synchronized InMemoryCollection collection(Class<?> type) {
+        String name = converter.getMappingContext().getRequiredPersistentEntity(type).getCollection();
+        return collections.computeIfAbsent(name, InMemoryCollection::new);
+    }
+
+    public Document toDocument(Object entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return document;
+    }
+
+    public <T> T toEntity(Class<T> type, Document document) {
+        return document == null ? null : converter.read(type, document);
+    }
+
+    /**
+     * Sets the id of an entity that has none, as an insert into Mongo would.
+     */
+    public void assignId(Object entity, Object id) {
+        MongoPersistentEntity<?> persistentEntity = converter.getMappingContext().getRequiredPersistentEntity(entity.getClass());
+        PersistentPropertyAccessor<Object> accessor = persistentEntity.getPropertyAccessor(entity);
+        accessor.setProperty(persistentEntity.getRequiredIdProperty(), id);
+    }
+
+    /**
+     * Writes every collection to the snapshot file, replacing it atomically.
+     */
+    public void snapshot() throws IOException {
+        if (snapshotPath == null) {
+            return;
+        }
+        Map<String, List<byte[]>> contents = new LinkedHashMap<>();
+        synchronized (this) {
+            collections.forEach((name, collection) -> contents.put(name, collection.snapshot()));
+        }
+        long size = 8;
+        for (Map.Entry<String, List<byte[]>> entry : contents.entrySet()) {
+            size += 2 + entry.getKey().getBytes(StandardCharsets.UTF_8).length + 4;
+            for (byte[] document : entry.getValue()) {
+                size += document.length;
+            }
+        }
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedWriter out = new MappedWriter(channel, size);
+            out.putInt(MAGIC);
+            out.putInt(contents.size());
+            for (Map.Entry<String, List<byte[]>> entry : contents.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.putShort((short) name.length);
+                out.put(name);
+                out.putInt(entry.getValue().size());
+                for (byte[] document : entry.getValue()) {
+                    out.put(document);
+                }
+            }
+            out.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshots != null) {
+            snapshots.shutdownNow();
+        }
+        snapshotQuietly();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Writing the snapshot to {} failed", snapshotPath, e);
+        }
+    }
+
+    private void restore() throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedReader in = new MappedReader(channel);
+            if (in.getInt() != MAGIC) {
+                throw new IOException(snapshotPath + " is not a skilltracker snapshot");
+            }
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] name = in.get(in.getShort());
+                int documents = in.getInt();
+                List<byte[]> encoded = new ArrayList<>(documents);
+                for (int d = 0; d < documents; d++) {
+                    // A BSON document starts with its own length, little-endian
+                    encoded.add(in.get(in.peekIntLittleEndian()));
+                }
+                collections.computeIfAbsent(new String(name, StandardCharsets.UTF_8), InMemoryCollection::new)
+                        .restore(encoded);
+            }
+        }
+    }
+
+    private Map<String, Integer> sizes() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        collections.forEach((name, collection) -> sizes.put(name, collection.size()));
+        return sizes;
+    }
+
+    // Sequential writes through a window that is remapped whenever the next value would not fit
+    private static final class MappedWriter {
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        MappedWriter(FileChannel channel, long size) throws IOException {
+            this.channel = channel;
+            this.size = size;
+            map(0);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4).putInt(value);
+        }
+
+        void putShort(short value) throws IOException {
+            ensure(2).putShort(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            ensure(bytes.length).put(bytes);
+        }
+
+        void force() {
+            window.force();
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                window.force();
+                map(windowStart + window.position());
+            }
+            return window;
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.min(WINDOW, size - position));
+        }
+    }
+
+    private static final class MappedReader {
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        int getInt() throws IOException {
+            return ensure(4).getInt();
+        }
+
+        short getShort() throws IOException {
+            return ensure(2).getShort();
+        }
+
+        int peekIntLittleEndian() throws IOException {
+            ByteBuffer buffer = ensure(4);
+            return Integer.reverseBytes(buffer.getInt(buffer.position()));
+        }
+
+        byte[] get(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            ensure(length).get(bytes);
+            return bytes;
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                if (windowStart + window.position() + bytes > size) {
+                    throw new IOException("Snapshot is truncated");
+                }
+                map(windowStart + window.position());
+            }
+            return window;
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+            window.order(ByteOrder.BIG_ENDIAN);
+        }
+    }
+}
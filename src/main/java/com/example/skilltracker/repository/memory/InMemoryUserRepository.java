@@ -0,0 +1,117 @@
+package com.example.skilltracker.repository.memory;
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.UserRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link UserRepository}, indexed by username and in id order for streaming.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryUserRepository extends InMemoryRepository<User, ObjectId> implements UserRepository {
+
+    private final Map<String, ObjectId> byUsername = new ConcurrentHashMap<>();
+    private final NavigableSet<ObjectId> ids = new ConcurrentSkipListSet<>();
+
+    public InMemoryUserRepository(InMemoryStore store) {
+        super(store, User.class);
+        collection.addIndex(new InMemoryCollection.Index() {
+            @Override
+            public void add(Object id, Document document) {
+                ids.add((ObjectId) id);
+                String username = document.getString("username");
+                if (username != null) {
+                    byUsername.put(username, (ObjectId) id);
+                }
+            }
+
+            @Override
+            public void remove(Object id, Document document) {
+                ids.remove((ObjectId) id);
+                String username = document.getString("username");
+                if (username != null) {
+                    byUsername.remove(username, id);
+                }
+            }
+        });
+    }
+
+    @Override
+    public User findUserByUsername(String username) {
+        ObjectId id = username == null ? null : byUsername.get(username);
+        Document document = collection.get(id);
+        return document != null && username.equals(document.getString("username")) ? read(document) : null;
+    }
+
+    @Override
+    public void updateAccount(User user) {
+        collection.update(user.getId(), document -> {
+            document.put("username", user.getUsername());
+            document.put("password", user.getPassword());
+            document.put("roles", user.getRoles());
+        });
+    }
+
+    @Override
+    public Stream<User> streamAfter(ObjectId afterId, int limit, Collection<String> fields) {
+        Stream<Document> documents = (afterId == null ? ids : ids.tailSet(afterId, false)).stream()
+                .map(collection::get)
+                .filter(Objects::nonNull);
+        if (limit > 0) {
+            documents = documents.limit(limit);
+        }
+        return documents.map(document -> {
+            if (fields == null) {
+                document.remove("password");
+                document.remove("skills");
+                return read(document);
+            }
+            return read(project(document, fields.stream()
+                    .filter(field -> !field.equals("password") && !field.equals("skills")).toList()));
+        });
+    }
+
+    @Override
+    public List<User> findUsernamesByIds(Collection<ObjectId> ids) {
+        return read(ids.stream().map(collection::get).filter(Objects::nonNull)
+                .map(document -> project(document, List.of("username"))));
+    }
+
+    @Override
+    public long estimateCount() {
+        return collection.size();
+    }
+
+    @Override
+    public boolean incrementSkillsVersion(ObjectId id) {
+        return incrementSkillsVersion(id, 1);
+    }
+
+    @Override
+    public boolean incrementSkillsVersion(ObjectId id, long delta) {
+        return collection.update(id, document -> {
+            Number version = (Number) document.get("skillsVersion");
+            document.put("skillsVersion", (version == null ? 0 : version.longValue()) + delta);
+        }) != null;
+    }
+
+    @Override
+    public long findSkillsVersion(ObjectId id) {
+        Document document = collection.get(id);
+        Number version = document == null ? null : (Number) document.get("skillsVersion");
+        return version == null ? 0 : version.longValue();
+    }
+}
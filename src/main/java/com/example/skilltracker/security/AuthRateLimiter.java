@@ -0,0 +1,84 @@
+package com.example.skilltracker.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the requests that cost a BCrypt hash: registrations, and HTTP Basic requests whose
+ * credentials are not already in {@link CredentialCache}. Each is charged to a bucket for the
+ * client address and, for Basic, one for the username, so neither a single source nor a spread of
+ * sources aimed at one account can keep the CPU busy hashing. Bearer requests are never charged.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final String BASIC_PREFIX = "Basic ";
+    private static final String REGISTER_PATH = "/skill-tracker/register";
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter byAddress;
+    private final TokenBucketRateLimiter byUsername;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    public AuthRateLimiter(@Value("${skilltracker.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${skilltracker.ratelimit.address.capacity:20}") int addressCapacity,
+                           @Value("${skilltracker.ratelimit.address.refill-per-minute:60}") int addressRefill,
+                           @Value("${skilltracker.ratelimit.username.capacity:5}") int usernameCapacity,
+                           @Value("${skilltracker.ratelimit.username.refill-per-minute:10}") int usernameRefill,
+                           @Value("${skilltracker.ratelimit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.byAddress = new TokenBucketRateLimiter(addressCapacity, addressRefill, maxKeys);
+        this.byUsername = new TokenBucketRateLimiter(usernameCapacity, usernameRefill, maxKeys);
+    }
+
+    /**
+     * @param authorization the request's Authorization header, may be null
+     * @return 0 to let the request through, otherwise the whole seconds to put in Retry-After
+     */
+    public long check(String method, String path, String remoteAddress, String authorization) {
+        if (!enabled) {
+            return 0;
+        }
+        String username = null;
+        if (authorization != null && authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            String[] credentials = decodeBasic(authorization.substring(BASIC_PREFIX.length()).trim());
+            if (credentials != null && credentialCache.isVerified(credentials[0], credentials[1])) {
+                return 0;
+            }
+            username = credentials == null ? "" : credentials[0];
+        } else if (!(HttpMethod.POST.matches(method) && REGISTER_PATH.equals(path))) {
+            return 0;
+        }
+        long wait = byAddress.tryAcquire(remoteAddress);
+        if (wait == 0 && username != null) {
+            wait = byUsername.tryAcquire(username);
+        }
+        return wait == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public TokenBucketRateLimiter byAddress() {
+        return byAddress;
+    }
+
+    public TokenBucketRateLimiter byUsername() {
+        return byUsername;
+    }
+
+    private static String[] decodeBasic(String token) {
+        try {
+            String decoded = new String(Base64.getDecoder().decode(token), StandardCharsets.UTF_8);
+            int colon = decoded.indexOf(':');
+            return colon < 0 ? null : new String[]{decoded.substring(0, colon), decoded.substring(colon + 1)};
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.service.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Authenticates requests that carry {@code Authorization: Bearer <token>} using {@link TokenService}.
+ * Normally the signature is all that is checked and the principal is built from the token alone.
+ * When {@link TokenService#needsAccountCheck} says so, the token is checked against the account
+ * as stored now, read through the user cache. It then stops working once the password changes or
+ * the account is deleted, and the roles are the current ones. A token past half its lifetime gets a fresh
+ * one in the {@code X-Auth-Token} response header.
+ * Requests without a bearer token pass through untouched so HTTP Basic keeps working.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final Function<ObjectId, User> accounts;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public BearerTokenAuthenticationFilter(TokenService tokenService, Function<ObjectId, User> accounts) {
+        this.tokenService = tokenService;
+        this.accounts = accounts;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            TokenService.Claims claims = tokenService.verify(header.substring(BEARER_PREFIX.length()).trim());
+            User user = null;
+            if (claims != null && !tokenService.needsAccountCheck(claims)) {
+                user = claims.toUser();
+            } else if (claims != null) {
+                User stored = accounts.apply(claims.userId());
+                if (tokenService.isCurrent(claims, stored)) {
+                    user = stored;
+                    if (tokenService.isDueForRenewal(claims)) {
+                        response.setHeader("X-Auth-Token", tokenService.issue(user));
+                        response.setHeader("X-Auth-Token-Expires-In", String.valueOf(tokenService.getTtlSeconds()));
+                    }
+                }
+            }
+            if (user != null) {
+                CustomUserDetails principal = new CustomUserDetails(user);
+                UsernamePasswordAuthenticationToken authentication =
+                        UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+                authentication.setDetails(detailsSource.buildDetails(request));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.service.CustomUserDetails;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Reactive counterpart of {@link BearerTokenAuthenticationFilter}: a valid bearer token puts an
+ * authenticated principal into the reactor context, anything else passes through for HTTP Basic.
+ * The stored account is only read when {@link TokenService#needsAccountCheck} says so. Renewal
+ * works the same way.
+ */
+public class BearerTokenWebFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final Function<ObjectId, Mono<User>> accounts;
+
+    public BearerTokenWebFilter(TokenService tokenService, Function<ObjectId, Mono<User>> accounts) {
+        this.tokenService = tokenService;
+        this.accounts = accounts;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            TokenService.Claims claims = tokenService.verify(header.substring(BEARER_PREFIX.length()).trim());
+            if (claims != null) {
+                Mono<User> account = !tokenService.needsAccountCheck(claims) ? Mono.just(claims.toUser())
+                        : accounts.apply(claims.userId())
+                        .filter(user -> tokenService.isCurrent(claims, user))
+                        .doOnNext(user -> {
+                            if (tokenService.isDueForRenewal(claims)) {
+                                HttpHeaders headers = exchange.getResponse().getHeaders();
+                                headers.set("X-Auth-Token", tokenService.issue(user));
+                                headers.set("X-Auth-Token-Expires-In", String.valueOf(tokenService.getTtlSeconds()));
+                            }
+                        });
+                return account
+                        .flatMap(user -> {
+                            CustomUserDetails principal = new CustomUserDetails(user);
+                            UsernamePasswordAuthenticationToken authentication =
+                                    UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+                            return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                                    .thenReturn(true);
+                        })
+                        .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+                        .then();
+            }
+        }
+        return chain.filter(exchange);
+    }
+}
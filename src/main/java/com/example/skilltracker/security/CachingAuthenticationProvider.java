@@ -0,0 +1,51 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.service.CustomUserDetails;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Wraps the regular DAO provider and answers from {@link CredentialCache} when the same
+ * username and password were verified recently. Misses fall through to the delegate,
+ * and successful results are remembered for the next request.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        // Loaded through the cache so a check that overlaps a password change is not remembered
+        Authentication[] delegated = new Authentication[1];
+        CustomUserDetails cached = credentialCache.get(username, password, () -> {
+            delegated[0] = delegate.authenticate(authentication);
+            return delegated[0] != null && delegated[0].getPrincipal() instanceof CustomUserDetails details ? details : null;
+        });
+        if (delegated[0] != null || cached == null) {
+            return delegated[0];
+        }
+        UsernamePasswordAuthenticationToken result =
+                UsernamePasswordAuthenticationToken.authenticated(cached, null, cached.getAuthorities());
+        result.setDetails(authentication.getDetails());
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.service.CustomUserDetails;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link CachingAuthenticationProvider}, sharing the same {@link CredentialCache}.
+ */
+public class CachingReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final ReactiveAuthenticationManager delegate;
+    private final CredentialCache credentialCache;
+
+    public CachingReactiveAuthenticationManager(ReactiveAuthenticationManager delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        // Read first: a password change while the check runs then keeps its result out of the cache
+        long generation = credentialCache.generation(username, password);
+        CustomUserDetails cached = credentialCache.get(username, password);
+        if (cached != null) {
+            return Mono.just(UsernamePasswordAuthenticationToken.authenticated(cached, null, cached.getAuthorities()));
+        }
+
+        return delegate.authenticate(authentication).doOnNext(result -> {
+            if (result.getPrincipal() instanceof CustomUserDetails details) {
+                credentialCache.put(username, password, details, generation);
+            }
+        });
+    }
+}
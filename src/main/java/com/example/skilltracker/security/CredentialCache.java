@@ -0,0 +1,105 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.cache.BoundedTtlCache;
+import com.example.skilltracker.service.CustomUserDetails;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers credentials that recently passed the BCrypt check so stateless Basic auth
+ * does not pay for a database lookup and a full hash on every request.
+ * Entries are keyed by an HMAC of username and password under a per-process random key,
+ * so raw passwords are never held in memory longer than the request itself.
+ *
+ * Verified results are only stored when no invalidation ran while they were being checked, so
+ * an authentication that read the old hash cannot put it back after a password change.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final BoundedTtlCache<String, CustomUserDetails> cache;
+    private final SecretKeySpec key;
+
+    public CredentialCache(@Value("${skilltracker.security.credential-cache.max-entries:10000}") int maxEntries,
+                           @Value("${skilltracker.security.credential-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlSeconds, TimeUnit.SECONDS);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Returns the cached user or runs the full check through {@code loader}; a null result is a failed check.
+     */
+    public CustomUserDetails get(String username, String password, Supplier<CustomUserDetails> loader) {
+        return cache.get(keyFor(username, password), key -> loader.get());
+    }
+
+    public CustomUserDetails get(String username, String password) {
+        return cache.get(keyFor(username, password));
+    }
+
+    // For callers that only need to know whether a request will skip BCrypt; not counted as a hit or miss
+    public boolean isVerified(String username, String password) {
+        return cache.containsKey(keyFor(username, password));
+    }
+
+    /**
+     * For checks that complete asynchronously: read before the check starts and pass to
+     * {@link #put(String, String, CustomUserDetails, long)}.
+     */
+    public long generation(String username, String password) {
+        return cache.generation(keyFor(username, password));
+    }
+
+    public void put(String username, String password, CustomUserDetails userDetails, long generation) {
+        cache.putUnlessInvalidatedSince(keyFor(username, password), userDetails, generation);
+    }
+
+    public void invalidateUser(ObjectId userId) {
+        if (userId != null) {
+            cache.invalidateIf((k, details) -> userId.equals(details.getUserId()));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    private String keyFor(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            byte[] digest = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
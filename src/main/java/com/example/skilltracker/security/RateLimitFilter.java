@@ -0,0 +1,38 @@
+package com.example.skilltracker.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects throttled registrations and uncached Basic logins with 429 before they reach BCrypt.
+ * The client address is {@code getRemoteAddr()}, so behind a proxy set
+ * {@code server.forward-headers-strategy} for it to be the caller rather than the proxy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final AuthRateLimiter rateLimiter;
+
+    public RateLimitFilter(AuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long retryAfter = rateLimiter.check(request.getMethod(), request.getRequestURI(), request.getRemoteAddr(),
+                request.getHeader(HttpHeaders.AUTHORIZATION));
+        if (retryAfter > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.skilltracker.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Reactive counterpart of {@link RateLimitFilter}.
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private final AuthRateLimiter rateLimiter;
+
+    public RateLimitWebFilter(AuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remote = request.getRemoteAddress();
+        String address = remote == null ? "" : remote.getHostString();
+        long retryAfter = rateLimiter.check(request.getMethod().name(), request.getPath().value(), address,
+                request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (retryAfter > 0) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            return response.setComplete();
+        }
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.repository.ReactiveUserRepository;
+import com.example.skilltracker.service.CustomUserDetails;
+import com.example.skilltracker.service.ReactiveUserService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+/**
+ * Security for the reactive stack, mirroring {@link SpringSecurity}: the same route rules,
+ * CORS settings, bearer tokens and cached Basic auth.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    protected SecurityWebFilterChain reactiveSecurityFilterChain(ServerHttpSecurity http, TokenService tokenService,
+                                                                 ReactiveAuthenticationManager authenticationManager,
+                                                                 AuthRateLimiter rateLimiter,
+                                                                 ReactiveUserService userService,
+                                                                 Environment environment) {
+        return http
+                .cors(Customizer.withDefaults())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(x -> x
+                        .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .pathMatchers("/skill-tracker/login").permitAll()
+                        .pathMatchers("/skill-tracker/register").permitAll()
+                        .pathMatchers(SpringSecurity.openActuatorPaths(environment)).permitAll()
+                        .pathMatchers("/actuator/prometheus").hasRole("ADMIN")
+                        .pathMatchers("/skill-tracker/skill/**").hasRole("USER")
+                        .pathMatchers("/skill-tracker/user/**").hasRole("USER")
+                        .anyExchange().authenticated()
+                )
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .addFilterBefore(new RateLimitWebFilter(rateLimiter), SecurityWebFiltersOrder.HTTP_BASIC)
+                .addFilterBefore(new BearerTokenWebFilter(tokenService, userService::getAccount), SecurityWebFiltersOrder.HTTP_BASIC)
+                .httpBasic(basic -> basic.authenticationManager(authenticationManager))
+                .build();
+    }
+    @Bean
+    public CorsConfigurationSource reactiveCorsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", SpringSecurity.corsConfiguration());
+        return source;
+    }
+
+    // The user lookup is non-blocking; the delegate runs the BCrypt check on a bounded elastic scheduler
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserRepository userRepository,
+                                                                       PasswordEncoder passwordEncoder,
+                                                                       CredentialCache credentialCache) {
+        UserDetailsRepositoryReactiveAuthenticationManager delegate = new UserDetailsRepositoryReactiveAuthenticationManager(
+                username -> userRepository.findUserByUsername(username).map(CustomUserDetails::new));
+        delegate.setPasswordEncoder(passwordEncoder);
+        return new CachingReactiveAuthenticationManager(delegate, credentialCache);
+    }
+}
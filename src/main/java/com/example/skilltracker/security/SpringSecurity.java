@@ -1,18 +1,25 @@
 package com.example.skilltracker.security;
 
 
+import com.example.skilltracker.service.UserService;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -21,10 +28,13 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SpringSecurity {
 
     @Bean
-    protected SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    protected SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService,
+                                                 AuthRateLimiter rateLimiter, UserService userService,
+                                                 Environment environment) throws Exception {
         return http
                 // 1. THIS IS THE MISSING PIECE: Enable CORS and link it to your bean below
                 .cors(Customizer.withDefaults())
@@ -33,31 +43,63 @@ public class SpringSecurity {
                 .authorizeHttpRequests(x -> x
                         // 2. Handle the Preflight handshake before any role checks
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // SSE streams complete on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/skill-tracker/login").permitAll()
                         .requestMatchers("/skill-tracker/register").permitAll()
+                        .requestMatchers(openActuatorPaths(environment)).permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
+                        // Roles beyond USER are granted directly in the database
+                        .requestMatchers("/skill-tracker/admin/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/skill-tracker/analytics/rebuild").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/skill-tracker/analytics/similarity/rebuild").hasRole("ADMIN")
+                        .requestMatchers("/skill-tracker/analytics/**").hasAnyRole("MANAGER", "ADMIN")
                         .requestMatchers("/skill-tracker/skill/**").hasRole("USER")
                         .requestMatchers("/skill-tracker/user/**").hasRole("USER")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Throttles uncached Basic logins and registrations before any BCrypt work
+                .addFilterBefore(new RateLimitFilter(rateLimiter), BasicAuthenticationFilter.class)
+                // Signed bearer tokens are checked in memory, and against the cached account only after it changed; Basic stays available for old clients
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService, userService::getUserById), BasicAuthenticationFilter.class)
                 .httpBasic(Customizer.withDefaults())
                 .build();
     }
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+    // Shared with the reactive stack. Metrics are scraped without credentials only from a separate
+    // management port, which stays off the public load balancer (see application-prod.properties)
+    static String[] openActuatorPaths(Environment environment) {
+        String managementPort = environment.getProperty("management.server.port", "");
+        boolean separatePort = !managementPort.isBlank()
+                && !managementPort.equals(environment.getProperty("server.port", "8080"));
+        return separatePort ? new String[] {"/actuator/health", "/actuator/prometheus"} : new String[] {"/actuator/health"};
+    }
+    // Shared with the reactive stack
+    static CorsConfiguration corsConfiguration() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("https://rishabh98080.github.io","https://skilltracker-3okm1v643-rishabh-kumars-projects-5e0474e5.vercel.app/","https://skilltracker-rose.vercel.app")); // Match your frontend exactly
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("X-Auth-Token", "X-Auth-Token-Expires-In", "ETag"));
         configuration.setAllowCredentials(true);
-
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        return source;
+        return configuration;
     }
+
+    // Basic auth is stateless, so put the credential cache in front of the BCrypt check
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder,
+                                                         CredentialCache credentialCache) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(userDetailsService);
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        return new CachingAuthenticationProvider(daoProvider, credentialCache);
     }
 
     // If you need the AuthenticationManager elsewhere (like for a login controller)
@@ -0,0 +1,111 @@
+package com.example.skilltracker.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets keyed by string, one {@link AtomicLong} per key.
+ *
+ * Each bucket stores the time at which it would be full again (the generic cell rate form of a
+ * token bucket): taking a token pushes that time one refill interval further, and a request is
+ * refused when it would end up more than {@code capacity} intervals ahead of now. Updates are a
+ * single compare-and-set, so concurrent requests never block one another.
+ *
+ * A bucket whose full-again time has passed holds no state worth keeping, so it is dropped when
+ * the key limit is reached. If every bucket is still active at that point new keys are refused
+ * rather than admitted untracked: under a flood that keeps the limit saturated, failing closed is
+ * what protects the CPU.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong lastSweep;
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity        requests allowed in a burst
+     * @param refillPerMinute tokens added back per minute
+     * @param maxKeys         most buckets held at once
+     */
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier clock) {
+        this.maxKeys = maxKeys;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(refillPerMinute, 1);
+        this.burstNanos = intervalNanos * Math.max(capacity, 1);
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong() - intervalNanos);
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @return 0 when the request may go ahead, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys && !makeRoom(now)) {
+                throttled.increment();
+                return intervalNanos;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                throttled.increment();
+                return next - now - burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // One thread sweeps at a time and at most once per refill interval, so a saturated map is not
+    // rescanned for every new key; the others decide on whatever room exists right now
+    private boolean makeRoom(long now) {
+        if (now - lastSweep.get() >= intervalNanos && sweeping.compareAndSet(false, true)) {
+            try {
+                for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+                    if (entry.getValue().get() - now <= 0 && buckets.remove(entry.getKey(), entry.getValue())) {
+                        evictions.increment();
+                    }
+                }
+            } finally {
+                lastSweep.set(now);
+                sweeping.set(false);
+            }
+        }
+        return buckets.size() < maxKeys;
+    }
+}
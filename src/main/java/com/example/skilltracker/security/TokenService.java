@@ -0,0 +1,245 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and checks short-lived HMAC-signed bearer tokens.
+ * A token carries the user id, username, roles, expiry and a fingerprint of the password hash
+ * it was issued against. Usually the signature check alone, in memory, is enough.
+ * {@link #revokeUser} is called whenever an account's password or roles change or the account
+ * is deleted, on this node or (through change streams) on another one. For one token lifetime
+ * after that, {@link #needsAccountCheck} sends that user's tokens through {@link #isCurrent},
+ * which compares the fingerprint with the account as stored now. A password change or a
+ * deleted account therefore still revokes every token issued before it.
+ *
+ * Format: {@code keyId.payload.signature}, all parts base64url encoded.
+ * {@link #rotateKey()} installs a fresh signing key; tokens signed with the previous key
+ * stay valid until they expire so rotation never logs anyone out.
+ */
+@Component
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final long ttlSeconds;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile SigningKey current;
+    private volatile SigningKey previous;
+
+    // Epoch seconds of recent account changes; older than a token lifetime they no longer matter
+    private final Map<ObjectId, Long> revokedAt = new ConcurrentHashMap<>();
+    // Changes made before this node started were never seen here, so startup counts as one
+    private volatile long allRevokedAt;
+
+    @Autowired
+    public TokenService(@Value("${skilltracker.security.token.ttl-seconds:900}") long ttlSeconds,
+                        @Value("${skilltracker.security.token.secret:}") String secret) {
+        this(ttlSeconds, secret, Clock.systemUTC());
+    }
+
+    TokenService(long ttlSeconds, String secret, Clock clock) {
+        this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
+        this.current = secret.isEmpty() ? newKey(randomSecret()) : newKey(Base64.getDecoder().decode(secret));
+        this.allRevokedAt = clock.instant().getEpochSecond();
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Signs a token for the user; its password hash must be set, as stored, for {@link #isCurrent} to accept it.
+     */
+    public String issue(User user) {
+        long expiresAt = clock.instant().getEpochSecond() + ttlSeconds;
+        String roles = user.getRoles() == null ? "" : String.join(",", user.getRoles());
+        String payload = user.getId().toHexString() + ":" + expiresAt + ":" + roles + ":"
+                + ENCODER.encodeToString(user.getUsername().getBytes(StandardCharsets.UTF_8)) + ":"
+                + credentialFingerprint(user.getPassword());
+        SigningKey key = current;
+        String body = key.id + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return body + "." + ENCODER.encodeToString(key.sign(body));
+    }
+
+    /**
+     * Returns what the token says, or {@code null} if the token is malformed, carries a bad
+     * signature, was signed by a retired key or has expired. Revocation is not checked here;
+     * see {@link #isCurrent}.
+     */
+    public Claims verify(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        SigningKey key = keyFor(parts[0]);
+        if (key == null) {
+            return null;
+        }
+        try {
+            byte[] expected = key.sign(parts[0] + "." + parts[1]);
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[2]))) {
+                return null;
+            }
+            String[] fields = new String(DECODER.decode(parts[1]), StandardCharsets.UTF_8).split(":", -1);
+            long expiresAt = fields.length == 5 ? Long.parseLong(fields[1]) : 0;
+            if (expiresAt <= clock.instant().getEpochSecond()) {
+                return null;
+            }
+            return new Claims(new ObjectId(fields[0]), new String(DECODER.decode(fields[3]), StandardCharsets.UTF_8),
+                    fields[2].isEmpty() ? List.of() : Arrays.asList(fields[2].split(",")), expiresAt, fields[4]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the token still belongs to the account as stored now: it exists and its password
+     * has not changed since the token was issued.
+     */
+    public boolean isCurrent(Claims claims, User stored) {
+        return stored != null && claims.userId().equals(stored.getId())
+                && claims.credential().equals(credentialFingerprint(stored.getPassword()));
+    }
+
+    /**
+     * Whether the signature is not enough on its own and the token must be checked with
+     * {@link #isCurrent} against the stored account. That is the case for one token lifetime
+     * after the user's account changed or all tokens were revoked. It is also the case once the
+     * token is due for renewal, so roles granted directly in the database reach the token.
+     */
+    public boolean needsAccountCheck(Claims claims) {
+        long now = clock.instant().getEpochSecond();
+        Long userRevokedAt = revokedAt.get(claims.userId());
+        return now < allRevokedAt + ttlSeconds
+                || (userRevokedAt != null && now < userRevokedAt + ttlSeconds)
+                || isDueForRenewal(claims);
+    }
+
+    /**
+     * Call when the user's password or roles change or the account is deleted.
+     */
+    public void revokeUser(ObjectId userId) {
+        long now = clock.instant().getEpochSecond();
+        revokedAt.values().removeIf(at -> at + ttlSeconds <= now);
+        revokedAt.put(userId, now);
+    }
+
+    /**
+     * Call when account changes may have been missed, for example when the users collection was dropped.
+     */
+    public void revokeAll() {
+        allRevokedAt = clock.instant().getEpochSecond();
+        revokedAt.clear();
+    }
+
+    /**
+     * Past half its lifetime a token is replaced on the next authenticated response, so a client
+     * that keeps making requests never sees it expire.
+     */
+    public boolean isDueForRenewal(Claims claims) {
+        return claims.expiresAt() - clock.instant().getEpochSecond() < ttlSeconds / 2;
+    }
+
+    /**
+     * Key-rotation hook: signs new tokens with a freshly generated key.
+     */
+    public void rotateKey() {
+        rotateKey(randomSecret());
+    }
+
+    /**
+     * Key-rotation hook for externally managed key material.
+     */
+    public synchronized void rotateKey(byte[] secret) {
+        previous = current;
+        current = newKey(secret);
+    }
+
+    private SigningKey keyFor(String keyId) {
+        SigningKey key = current;
+        if (key.id.equals(keyId)) {
+            return key;
+        }
+        key = previous;
+        return key != null && key.id.equals(keyId) ? key : null;
+    }
+
+    // The hash is salted, so a digest of it says nothing about the password itself
+    private static String credentialFingerprint(String passwordHash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((passwordHash == null ? "" : passwordHash).getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(Arrays.copyOf(digest, 9));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private byte[] randomSecret() {
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        return secret;
+    }
+
+    // The key id is derived from the secret so every node sharing a secret agrees on it
+    private SigningKey newKey(byte[] secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret);
+            String id = ENCODER.encodeToString(Arrays.copyOf(digest, 6));
+            return new SigningKey(id, new SecretKeySpec(secret, HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The verified content of a token; {@code credential} is the password fingerprint.
+     */
+    public record Claims(ObjectId userId, String username, List<String> roles, long expiresAt, String credential) {
+
+        /**
+         * The account as the token describes it, without the password hash.
+         */
+        public User toUser() {
+            User user = new User();
+            user.setId(userId);
+            user.setUsername(username);
+            user.setRoles(roles);
+            return user;
+        }
+    }
+
+    private record SigningKey(String id, SecretKeySpec spec) {
+        byte[] sign(String data) {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(spec);
+                return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        }
+    }
+}
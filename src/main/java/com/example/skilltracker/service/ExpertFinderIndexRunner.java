@@ -0,0 +1,37 @@
+package com.example.skilltracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the skill similarity index after startup. Similarity and expert searches answer 503
+ * until it has finished; every other endpoint is available right away.
+ */
+@Component
+@ConditionalOnProperty(name = "skilltracker.similarity.load-on-startup", havingValue = "true", matchIfMissing = true)
+public class ExpertFinderIndexRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpertFinderIndexRunner.class);
+
+    @Autowired
+    private ExpertFinderService expertFinderService;
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskExecutor.execute(() -> {
+            try {
+                expertFinderService.rebuild();
+            } catch (Exception e) {
+                log.warn("Skill similarity index load failed, similarity searches stay unavailable", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.model.UserMatch;
+import com.example.skilltracker.repository.SkillRepository;
+import com.example.skilltracker.repository.UserRepository;
+import com.example.skilltracker.similarity.SkillSimilarityIndex;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds users with similar skills, and the users who best cover a set of skills, from an
+ * in-memory {@link SkillSimilarityIndex} of every user's skills. The index is loaded once by
+ * {@link #rebuild()} and then follows the skill write events, so queries never touch the skills
+ * collection; only the usernames of the returned users are read.
+ *
+ * Writes that arrive while a rebuild is loading go to both the serving and the loading index, and
+ * the loader skips the skills and users they touched, so the swap loses none of them.
+ */
+@Service
+public class ExpertFinderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpertFinderService.class);
+
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${skilltracker.similarity.max-results:100}")
+    private int maxResults;
+    @Value("${skilltracker.similarity.max-skills:50}")
+    private int maxSkills;
+
+    private volatile SkillSimilarityIndex index;
+
+    private final Object buildLock = new Object();
+    private SkillSimilarityIndex loading;
+    private final Set<ObjectId> touchedSkills = ConcurrentHashMap.newKeySet();
+    private final Set<ObjectId> removedUsers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Loads a fresh index from the skills collection and swaps it in. Queries keep using the
+     * previous index meanwhile, and fail until the first load has finished.
+     *
+     * @return number of skills loaded
+     */
+    public long rebuild(){
+        SkillSimilarityIndex fresh = new SkillSimilarityIndex();
+        synchronized (buildLock){
+            if(loading != null){
+                throw new IllegalStateException("A rebuild is already running");
+            }
+            loading = fresh;
+            touchedSkills.clear();
+            removedUsers.clear();
+        }
+        long loaded = 0;
+        try (Stream<Skill> skills = skillRepository.streamAllOwned()) {
+            for(Skill skill : (Iterable<Skill>) skills::iterator){
+                synchronized (buildLock){
+                    if(touchedSkills.contains(skill.getId()) || removedUsers.contains(skill.getUserId())){
+                        continue;
+                    }
+                    fresh.put(skill.getUserId(), skill.getId(), skill.getName(), skill.getProficiency());
+                }
+                loaded++;
+            }
+        } catch (RuntimeException e) {
+            synchronized (buildLock){
+                loading = null;
+            }
+            throw e;
+        }
+        // Swapped under the lock so no write lands between the two indexes
+        synchronized (buildLock){
+            index = fresh;
+            loading = null;
+        }
+        log.info("Skill similarity index loaded {} skills of {} users", loaded, fresh.userCount());
+        return loaded;
+    }
+
+    public boolean isReady(){
+        return index != null;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the limit is out of range
+     * @throws IllegalStateException if the index has not been loaded yet
+     */
+    public List<UserMatch> findSimilar(ObjectId userId, int limit, boolean weighted){
+        checkLimit(limit);
+        return withUsernames(ready().similar(userId, limit, weighted));
+    }
+
+    /**
+     * @throws IllegalArgumentException if no skill or too many are given, or the limit is out of range
+     * @throws IllegalStateException if the index has not been loaded yet
+     */
+    public List<UserMatch> findExperts(Collection<String> skills, int limit){
+        checkLimit(limit);
+        List<String> names = skills == null ? List.of() : skills.stream()
+                .filter(name -> name != null && !name.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if(names.isEmpty()){
+            throw new IllegalArgumentException("At least one skill name is required");
+        }
+        if(names.size() > maxSkills){
+            throw new IllegalArgumentException("At most " + maxSkills + " skills can be searched at once");
+        }
+        return withUsernames(ready().experts(names, limit));
+    }
+
+    // Applied on the writer thread: an index update is a few array writes under the index lock
+    @EventListener
+    public void onSkillChanged(SkillChangedEvent event){
+        Skill skill = event.skill();
+        Skill previous = event.previous();
+        ObjectId userId = event.userId();
+        switch (event.type()) {
+            case CREATED -> apply(skill.getId(), target -> target.put(userId, skill.getId(), skill.getName(), skill.getProficiency()));
+            case UPDATED -> {
+                if(previous == null){
+                    return;
+                }
+                String name = skill.getName() != null ? skill.getName() : previous.getName();
+                apply(skill.getId(), target -> target.put(userId, skill.getId(), name,
+                        skill.getProficiency() != null ? skill.getProficiency() : previous.getProficiency()));
+            }
+            case DELETED -> apply(skill.getId(), target -> target.remove(userId, skill.getId()));
+        }
+    }
+
+    @EventListener
+    public void onSkillsImported(SkillsImportedEvent event){
+        for(Skill skill : event.skills()){
+            apply(skill.getId(), target -> target.put(event.userId(), skill.getId(), skill.getName(), skill.getProficiency()));
+        }
+    }
+
+    /**
+     * Takes a deleted user out of the index.
+     */
+    public void removeUser(ObjectId userId){
+        synchronized (buildLock){
+            if(loading != null){
+                removedUsers.add(userId);
+                loading.removeUser(userId);
+            }
+        }
+        SkillSimilarityIndex current = index;
+        if(current != null){
+            current.removeUser(userId);
+        }
+    }
+
+    public SkillSimilarityIndex getIndex(){
+        return index;
+    }
+
+    // Every change is idempotent, so one that reaches the loading index right before the swap
+    // and then the swapped-in index again is harmless
+    private void apply(ObjectId skillId, Consumer<SkillSimilarityIndex> change){
+        synchronized (buildLock){
+            if(loading != null){
+                touchedSkills.add(skillId);
+                change.accept(loading);
+            }
+        }
+        SkillSimilarityIndex current = index;
+        if(current != null){
+            change.accept(current);
+        }
+    }
+
+    private SkillSimilarityIndex ready(){
+        SkillSimilarityIndex current = index;
+        if(current == null){
+            throw new IllegalStateException("The skill similarity index is still loading");
+        }
+        return current;
+    }
+
+    private void checkLimit(int limit){
+        if(limit < 1 || limit > maxResults){
+            throw new IllegalArgumentException("limit must be between 1 and " + maxResults);
+        }
+    }
+
+    private List<UserMatch> withUsernames(List<SkillSimilarityIndex.Match> matches){
+        if(matches.isEmpty()){
+            return List.of();
+        }
+        Map<ObjectId, User> owners = userRepository.findUsernamesByIds(
+                        matches.stream().map(SkillSimilarityIndex.Match::userId).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        // A user deleted since the index saw them has no document left and is dropped
+        return matches.stream()
+                .filter(match -> owners.containsKey(match.userId()))
+                .map(match -> new UserMatch(owners.get(match.userId()), match.score(), match.shared()))
+                .toList();
+    }
+}
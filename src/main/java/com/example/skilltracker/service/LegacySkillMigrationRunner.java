@@ -0,0 +1,40 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.repository.SkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every user still on the old {@code @DBRef} skill array to the userId layout.
+ * Runs in the background after startup so the app keeps serving; until a user is reached,
+ * {@link SkillService} migrates that user lazily on first access.
+ */
+@Component
+@ConditionalOnProperty(name = "skilltracker.migration.legacy-skill-refs.enabled", havingValue = "true")
+public class LegacySkillMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacySkillMigrationRunner.class);
+
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskExecutor.execute(() -> {
+            try {
+                long migrated = skillRepository.migrateAllLegacySkills();
+                log.info("Legacy skill migration finished, {} users migrated", migrated);
+            } catch (Exception e) {
+                log.warn("Legacy skill migration stopped, remaining users migrate on access", e);
+            }
+        });
+    }
+}
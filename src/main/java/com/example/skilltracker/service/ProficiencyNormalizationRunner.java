@@ -0,0 +1,38 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.repository.SkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rewrites proficiency values stored before the enum existed to their constant name and fills in
+ * the rank that paging sorted by proficiency orders on. Runs before the application reports ready
+ * rather than in the background: it is one multi-update per stored spelling, and until it has run
+ * such pages leave out or misplace the skills still lacking a rank.
+ */
+@Component
+@ConditionalOnProperty(name = "skilltracker.migration.proficiency.enabled", havingValue = "true", matchIfMissing = true)
+public class ProficiencyNormalizationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProficiencyNormalizationRunner.class);
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            long normalized = skillRepository.normalizeProficiencies();
+            if (normalized > 0) {
+                log.info("Proficiency normalization finished, {} skills updated", normalized);
+            }
+        } catch (Exception e) {
+            log.warn("Proficiency normalization failed, paging sorted by proficiency may skip legacy values", e);
+        }
+    }
+}
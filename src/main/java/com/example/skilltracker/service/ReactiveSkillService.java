@@ -0,0 +1,67 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.repository.ReactiveSkillRepository;
+import com.example.skilltracker.repository.ReactiveUserRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking version of {@link SkillService} for the reactive web stack. Writes follow the
+ * same order (write, then version bump, then event) so ETags and streams behave identically.
+ * Skills still on the legacy DBRef layout are not claimed here; run the migration instead.
+ */
+@Service
+public class ReactiveSkillService {
+
+    @Autowired
+    private ReactiveSkillRepository skillRepository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Mono<Void> saveSkill(ObjectId userId, Skill skill){
+        skill.setUserId(userId);
+        return skillRepository.insertSkill(skill)
+                .filter(inserted -> inserted)
+                .flatMap(inserted -> userRepository.incrementSkillsVersion(userId))
+                .flatMap(exists -> exists ? Mono.<Void>fromRunnable(() -> eventPublisher.publishEvent(
+                                new SkillChangedEvent(SkillChangedEvent.Type.CREATED, userId, skill)))
+                        : skillRepository.deleteByIdAndUserId(skill.getId(), userId)
+                            .then(Mono.error(new IllegalArgumentException("User not found with id: " + userId))))
+                .then();
+    }
+    public Mono<Long> getVersion(ObjectId userId){
+        return userRepository.findSkillsVersion(userId);
+    }
+    // Emitted straight off the Mongo cursor as the client reads, never collected into a list
+    public Flux<Skill> getAll(ObjectId userId){
+        return skillRepository.findByUserId(userId);
+    }
+    public Mono<Boolean> updateSkill(ObjectId userId, ObjectId skillId, Skill skill){
+        return skillRepository.updateSkillFields(userId, skillId, skill.getName(), skill.getProficiency())
+                .flatMap(previous -> userRepository.incrementSkillsVersion(userId).map(exists -> {
+                    Skill changed = new Skill(skillId, emptyToNull(skill.getName()), skill.getProficiency(), userId);
+                    eventPublisher.publishEvent(new SkillChangedEvent(SkillChangedEvent.Type.UPDATED, userId, changed, previous));
+                    return true;
+                }))
+                .defaultIfEmpty(false);
+    }
+    public Mono<Void> deleteSkillById(ObjectId id, ObjectId userId){
+        return skillRepository.removeSkill(userId, id)
+                .flatMap(deleted -> userRepository.incrementSkillsVersion(userId)
+                        .doOnNext(exists -> eventPublisher.publishEvent(new SkillChangedEvent(SkillChangedEvent.Type.DELETED, userId,
+                                new Skill(id, null, null, userId), deleted))))
+                .then();
+    }
+    private static String emptyToNull(String value){
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.cache.BoundedTtlCache;
+import com.example.skilltracker.cache.UserSkillCache;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.ReactiveSkillRepository;
+import com.example.skilltracker.repository.ReactiveUserRepository;
+import com.example.skilltracker.security.CredentialCache;
+import com.example.skilltracker.security.TokenService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Non-blocking version of {@link UserService} for the reactive web stack.
+ */
+@Service
+public class ReactiveUserService {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+    @Autowired
+    private ReactiveSkillRepository skillRepository;
+    @Autowired
+    private CredentialCache credentialCache;
+    @Autowired
+    private UserSkillCache userSkillCache;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private SkillAnalyticsService skillAnalyticsService;
+    @Autowired
+    private ExpertFinderService expertFinderService;
+    // The shared timed encoder, so registration hashes are measured too
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // BCrypt is deliberately slow, so hash off the event loop
+    public Mono<User> saveNewUser(User user){
+        return Mono.fromCallable(() -> passwordEncoder.encode(user.getPassword()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(hash -> {
+                    user.setRoles(Arrays.asList("ROLE_USER"));
+                    user.setPassword(hash);
+                    return userRepository.save(user);
+                });
+    }
+    public Mono<Void> saveUser(User user){
+        if(user.getId() == null){
+            return userRepository.save(user).then();
+        }
+        return userRepository.updateAccount(user)
+                .then(Mono.fromRunnable(() -> {
+                    tokenService.revokeUser(user.getId());
+                    credentialCache.invalidateUser(user.getId());
+                    userSkillCache.invalidateUser(user.getId());
+                }));
+    }
+    public Mono<User> getUserById(ObjectId id){
+        return userRepository.findById(id);
+    }
+    // Read for bearer tokens that need an account check, served from the same user cache as the blocking stack
+    public Mono<User> getAccount(ObjectId id){
+        BoundedTtlCache<ObjectId, User> users = userSkillCache.users();
+        User cached = users.get(id);
+        if(cached != null){
+            return Mono.just(UserService.copyOf(cached, null));
+        }
+        long generation = users.generation(id);
+        return userRepository.findById(id)
+                .doOnNext(user -> users.putUnlessInvalidatedSince(id, user, generation))
+                .map(user -> UserService.copyOf(user, null));
+    }
+    // Same in-memory projection as the blocking service; never includes the password
+    public Mono<User> getUserById(ObjectId id, Collection<String> fields){
+        return userRepository.findById(id).map(user -> UserService.copyOf(user, fields));
+    }
+    public Mono<Void> deleteById(ObjectId id){
+        return userRepository.deleteById(id)
+                // Read the skills for the analytics rollups while they still exist; that read blocks
+                .then(Mono.fromRunnable(() -> skillAnalyticsService.removeUser(id)).subscribeOn(Schedulers.boundedElastic()))
+                .then(skillRepository.deleteByUserId(id))
+                .then(Mono.fromRunnable(() -> {
+                    expertFinderService.removeUser(id);
+                    tokenService.revokeUser(id);
+                    credentialCache.invalidateUser(id);
+                    userSkillCache.invalidateUser(id);
+                }));
+    }
+}
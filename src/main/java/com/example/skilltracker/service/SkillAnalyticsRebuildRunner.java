@@ -0,0 +1,37 @@
+package com.example.skilltracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes the skill analytics rollups after startup, for the first deployment and for
+ * recovering from lost increments. Analytics keep being served from the old rollups meanwhile.
+ */
+@Component
+@ConditionalOnProperty(name = "skilltracker.analytics.rebuild-on-startup", havingValue = "true")
+public class SkillAnalyticsRebuildRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillAnalyticsRebuildRunner.class);
+
+    @Autowired
+    private SkillAnalyticsService skillAnalyticsService;
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskExecutor.execute(() -> {
+            try {
+                skillAnalyticsService.rebuild();
+            } catch (Exception e) {
+                log.warn("Skill analytics rebuild failed, rollups keep their previous values", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillAnalytics;
+import com.example.skilltracker.model.SkillRollup;
+import com.example.skilltracker.repository.SkillRepository;
+import com.example.skilltracker.repository.SkillRollupRepository;
+import com.example.skilltracker.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps org-wide skill rollups current from the skill write events and serves them to managers.
+ * Rollups are updated with atomic increments off the request thread, so a skill write pays
+ * nothing extra; an increment lost to a crash is repaired by {@link #rebuild()}.
+ * Reads return an in-memory snapshot of the rollups that is refreshed at most every
+ * {@code skilltracker.analytics.refresh-seconds}.
+ */
+@Service
+public class SkillAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillAnalyticsService.class);
+
+    @Autowired
+    private SkillRollupRepository skillRollupRepository;
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Value("${skilltracker.analytics.top-skills:20}")
+    private int topSkills;
+    @Value("${skilltracker.analytics.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    private final AtomicReference<SkillAnalytics> snapshot = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Object heldBackLock = new Object();
+    // Increments held back while a rebuild replaces the rollups; null when none is running
+    private List<Runnable> heldBack;
+
+    public SkillAnalytics getAnalytics(){
+        SkillAnalytics current = snapshot.get();
+        if(current != null && current.getRefreshedAt().plus(Duration.ofSeconds(refreshSeconds)).isAfter(Instant.now())){
+            return current;
+        }
+        // Only one caller reloads; the others keep getting the previous snapshot meanwhile
+        if(current != null && !refreshLock.tryLock()){
+            return current;
+        }
+        if(current == null){
+            refreshLock.lock();
+        }
+        try {
+            SkillAnalytics latest = snapshot.get();
+            if(latest != current){
+                return latest;
+            }
+            return refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Normalizes stored proficiency values and recomputes every rollup from the skills collection.
+     * Increments from this node's skill writes are held back meanwhile and applied afterwards, so
+     * the swap neither loses them nor collides with them. A write landing while the pipelines run
+     * may already be counted and is then counted again; the next rebuild settles it.
+     *
+     * @return number of skills counted
+     */
+    public long rebuild(){
+        rebuildLock.lock();
+        try {
+            synchronized (heldBackLock) {
+                heldBack = new ArrayList<>();
+            }
+            long counted;
+            try {
+                long normalized = skillRepository.normalizeProficiencies();
+                counted = skillRollupRepository.rebuild();
+                log.info("Skill analytics rebuilt from {} skills, {} proficiency values normalized", counted, normalized);
+            } finally {
+                List<Runnable> replay;
+                synchronized (heldBackLock) {
+                    replay = heldBack;
+                    heldBack = null;
+                }
+                replay.forEach(taskExecutor::execute);
+            }
+            refresh();
+            return counted;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onSkillChanged(SkillChangedEvent event){
+        Deltas deltas = new Deltas();
+        Skill skill = event.skill();
+        Skill previous = event.previous();
+        switch (event.type()) {
+            case CREATED -> {
+                deltas.add(skill.getName(), skill.getProficiency(), 1);
+                deltas.userSkills = 1;
+            }
+            case UPDATED -> {
+                if(previous == null){
+                    return;
+                }
+                String name = skill.getName() != null ? skill.getName() : previous.getName();
+                Proficiency proficiency = skill.getProficiency() != null ? skill.getProficiency() : previous.getProficiency();
+                if(proficiency == previous.getProficiency() && name != null && name.equals(previous.getName())){
+                    return;
+                }
+                deltas.add(previous.getName(), previous.getProficiency(), -1);
+                deltas.add(name, proficiency, 1);
+            }
+            case DELETED -> {
+                if(previous == null){
+                    return;
+                }
+                deltas.add(previous.getName(), previous.getProficiency(), -1);
+                deltas.userSkills = -1;
+            }
+        }
+        submit(event.userId(), deltas);
+    }
+
+    @EventListener
+    public void onSkillsImported(SkillsImportedEvent event){
+        if(event.skills().isEmpty()){
+            return;
+        }
+        Deltas deltas = new Deltas();
+        for(Skill skill : event.skills()){
+            deltas.add(skill.getName(), skill.getProficiency(), 1);
+        }
+        deltas.userSkills = event.skills().size();
+        submit(event.userId(), deltas);
+    }
+
+    /**
+     * Takes the user's skills out of the rollups. Call before the skills are deleted.
+     */
+    public void removeUser(ObjectId userId){
+        Deltas deltas = new Deltas();
+        try (Stream<Skill> skills = skillRepository.streamAllByUserId(userId)) {
+            skills.forEach(skill -> {
+                deltas.add(skill.getName(), skill.getProficiency(), -1);
+                deltas.userSkills--;
+            });
+        }
+        if(deltas.userSkills != 0){
+            submit(userId, deltas);
+        }
+    }
+
+    private void submit(ObjectId userId, Deltas deltas){
+        taskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (heldBackLock) {
+                    if(heldBack != null){
+                        heldBack.add(this);
+                        return;
+                    }
+                }
+                try {
+                    apply(userId, deltas);
+                } catch (Exception e) {
+                    log.warn("Skill analytics update for user {} lost, rebuild to repair", userId, e);
+                }
+            }
+        });
+    }
+
+    private void apply(ObjectId userId, Deltas deltas){
+        if(deltas.userSkills != 0){
+            long after = skillRollupRepository.incrementUserSkills(userId, deltas.userSkills);
+            long before = after - deltas.userSkills;
+            // Coverage only moves when a user's count crosses zero
+            if(before <= 0 && after > 0){
+                deltas.org.setUsers(1);
+            } else if(before > 0 && after <= 0){
+                deltas.org.setUsers(-1);
+            }
+        }
+        List<SkillRollup> rollups = new ArrayList<>(deltas.skills.values());
+        rollups.add(deltas.org);
+        skillRollupRepository.increment(rollups);
+    }
+
+    private SkillAnalytics refresh(){
+        SkillRollup org = skillRollupRepository.findById(SkillRollup.ORG_ID).orElseGet(SkillRollup::org);
+        List<SkillAnalytics.SkillCount> top = skillRollupRepository
+                .findByKindOrderByTotalDesc(SkillRollup.Kind.SKILL, Limit.of(topSkills)).stream()
+                .filter(rollup -> rollup.getTotal() > 0)
+                .map(rollup -> new SkillAnalytics.SkillCount(rollup.getName(), rollup.getTotal(),
+                        SkillAnalytics.byLabel(rollup.getCounts())))
+                .toList();
+        long totalUsers = userRepository.estimateCount();
+        SkillAnalytics analytics = new SkillAnalytics(org.getTotal(), SkillAnalytics.byLabel(org.getCounts()),
+                org.getUsers(), totalUsers, totalUsers == 0 ? 0 : Math.min(1.0, (double) org.getUsers() / totalUsers),
+                top, Instant.now());
+        snapshot.set(analytics);
+        return analytics;
+    }
+
+    // Increments for one write, merged per rollup document
+    private static final class Deltas {
+        final SkillRollup org = SkillRollup.org();
+        final Map<String, SkillRollup> skills = new HashMap<>();
+        long userSkills;
+
+        void add(String name, Proficiency proficiency, long delta){
+            org.add(proficiency, delta);
+            if(name == null){
+                return;
+            }
+            SkillRollup skill = skills.computeIfAbsent(SkillRollup.skillId(name),
+                    id -> new SkillRollup(id, SkillRollup.Kind.SKILL));
+            skill.add(proficiency, delta);
+            // Only a name being written decides how the rollup is displayed
+            if(delta > 0){
+                skill.setName(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.model.Skill;
+import org.bson.types.ObjectId;
+
+/**
+ * Published by {@link SkillService} after a skill write has been stored.
+ * For updates {@code skill} only carries the id and the fields that changed;
+ * for deletes it only carries the id. {@code previous} is the stored skill as it was
+ * before an update or delete, and null for creates.
+ */
+public record SkillChangedEvent(Type type, ObjectId userId, Skill skill, Skill previous) {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public SkillChangedEvent(Type type, ObjectId userId, Skill skill) {
+        this(type, userId, skill, null);
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.skilltracker.service;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of {@link SkillChangedEvent}s to Server-Sent Event subscribers.
+ *
+ * Idle subscribers cost an {@link SseEmitter} and a small bounded queue, no thread: the servlet
+ * container parks the response asynchronously. Events are queued per subscriber and written by
+ * a small shared pool; a subscriber whose queue overflows is a slow consumer and gets disconnected
+ * so it can never hold memory hostage. A write blocked on a stalled peer for longer than
+ * {@code send-timeout-seconds} gets its subscriber evicted the same way; the writer thread itself
+ * is only released once the container's socket write timeout fires, so keep that short when many
+ * clients sit on unreliable networks. Heartbeats go through the same queue, which also flushes out
+ * connections the client has silently dropped.
+ */
+@Component
+public class SkillEventBus {
+
+    private final Map<ObjectId, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final ExecutorService writers;
+    private final ScheduledExecutorService heartbeats;
+
+    public SkillEventBus(@Value("${skilltracker.stream.buffer-size:64}") int bufferSize,
+                         @Value("${skilltracker.stream.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${skilltracker.stream.heartbeat-seconds:20}") long heartbeatSeconds,
+                         @Value("${skilltracker.stream.timeout-minutes:30}") long timeoutMinutes,
+                         @Value("${skilltracker.stream.writer-threads:4}") int writerThreads,
+                         @Value("${skilltracker.stream.send-timeout-seconds:10}") long sendTimeoutSeconds) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.sendTimeoutNanos = TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        this.writers = Executors.newFixedThreadPool(writerThreads, daemon("skill-stream-writer"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("skill-stream-heartbeat"));
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long stallCheckMillis = Math.max(100, TimeUnit.SECONDS.toMillis(sendTimeoutSeconds) / 2);
+        heartbeats.scheduleAtFixedRate(this::evictStalled, stallCheckMillis, stallCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for the user's skill changes, or returns {@code null} when the node is at capacity.
+     */
+    public SseEmitter subscribe(ObjectId userId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // Added inside the map's atomic step so a concurrent remove cannot drop the set under us
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+            target.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        enqueue(subscriber, SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    @EventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.userId());
+        if (targets == null) {
+            return;
+        }
+        // Build once: the frame is immutable and shared by every subscriber of this user
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .name(event.type().name().toLowerCase(Locale.ROOT))
+                .data(event.skill(), MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, message);
+        }
+    }
+
+    @EventListener
+    public void onSkillsImported(SkillsImportedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.userId());
+        if (targets == null || event.skills().isEmpty()) {
+            return;
+        }
+        // One summary frame per stored batch keeps a bulk import from overflowing every buffer
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .name("imported")
+                .data(Map.of("count", event.skills().size()), MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, message);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public int getEvictionCount() {
+        return evictions.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        writers.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    private void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("heartbeat").build();
+        subscribers.values().forEach(set -> set.forEach(s -> enqueue(s, ping)));
+    }
+
+    // A send that has not returned within the timeout is a stalled peer: evict it like an overflow
+    private void evictStalled() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(set -> set.forEach(s -> {
+            long since = s.sendingSince;
+            if (since != 0 && now - since > sendTimeoutNanos) {
+                evict(s);
+            }
+        }));
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> message) {
+        if (!subscriber.queue.offer(message)) {
+            evict(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> message;
+            while ((message = subscriber.queue.poll()) != null) {
+                subscriber.sendingSince = System.nanoTime();
+                try {
+                    subscriber.emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    remove(subscriber);
+                    return;
+                } finally {
+                    subscriber.sendingSince = 0;
+                }
+            }
+            subscriber.draining.set(false);
+            // Re-check: an event may have been queued between the last poll and releasing the flag
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            evictions.incrementAndGet();
+            subscriber.emitter.complete();
+        }
+    }
+
+    // The empty check and the removal of the set happen in one atomic step with subscribe's add
+    private boolean remove(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            removed.set(set.remove(subscriber));
+            return set.isEmpty() ? null : set;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+            subscriber.queue.clear();
+        }
+        return removed.get();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+        private final ObjectId userId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the send in progress started, 0 while idle
+        private volatile long sendingSince;
+
+        private Subscriber(ObjectId userId, SseEmitter emitter, Queue<Set<DataWithMediaType>> queue) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.repository.SkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in {@code nameLower} on skills written before prefix search existed. Until a skill
+ * is reached it is simply missing from prefix results; text search is unaffected.
+ */
+@Component
+@ConditionalOnProperty(name = "skilltracker.migration.skill-name-lower.enabled", havingValue = "true")
+public class SkillNameIndexBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillNameIndexBackfillRunner.class);
+
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskExecutor.execute(() -> {
+            try {
+                long updated = skillRepository.backfillNameLower();
+                log.info("Skill name backfill finished, {} skills updated", updated);
+            } catch (Exception e) {
+                log.warn("Skill name backfill stopped, remaining skills are missing from prefix search", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillMatch;
+import com.example.skilltracker.model.SkillMatchPage;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.SkillRepository;
+import com.example.skilltracker.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Searches skill names across all users. Both modes read one page of skills through an index
+ * and then the owners of just that page in a single {@code $in} query, so neither ever walks
+ * the users collection.
+ */
+@Service
+public class SkillSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    // Text results are ranked, not keyed, so they page by offset; keep that offset bounded
+    public static final int MAX_TEXT_RESULTS = 1000;
+
+    public enum Mode { PREFIX, TEXT }
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * @param mode   PREFIX matches names starting with {@code query}, ignoring case; TEXT matches whole words
+     * @param after  cursor from the previous page, or null for the first
+     * @throws IllegalArgumentException for an empty query, an unknown mode, a limit out of range or a malformed cursor
+     */
+    public SkillMatchPage search(String query, String mode, Integer limit, String after){
+        if(query == null || query.isBlank()){
+            throw new IllegalArgumentException("q must not be empty");
+        }
+        Mode searchMode = parseMode(mode);
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if(size < 1 || size > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Skill> skills;
+        String nextCursor = null;
+        if(searchMode == Mode.PREFIX){
+            String[] position = after == null ? null : decode(after, "p", 3);
+            skills = skillRepository.findByNamePrefix(Skill.lowerCase(query.trim()),
+                    position == null ? null : position[1], position == null ? null : new ObjectId(position[2]), size + 1);
+            if(skills.size() > size){
+                skills = skills.subList(0, size);
+                Skill last = skills.get(size - 1);
+                nextCursor = encode("p", last.getNameLower(), last.getId().toHexString());
+            }
+        } else {
+            int offset = after == null ? 0 : Integer.parseInt(decode(after, "t", 2)[1]);
+            int pageSize = Math.min(size, MAX_TEXT_RESULTS - offset);
+            skills = pageSize <= 0 ? List.of() : skillRepository.findByText(query, offset, pageSize + 1);
+            if(skills.size() > pageSize && pageSize > 0){
+                skills = skills.subList(0, pageSize);
+                nextCursor = offset + pageSize < MAX_TEXT_RESULTS ? encode("t", String.valueOf(offset + pageSize)) : null;
+            }
+        }
+        return new SkillMatchPage(withOwners(skills), nextCursor);
+    }
+
+    private List<SkillMatch> withOwners(List<Skill> skills){
+        if(skills.isEmpty()){
+            return List.of();
+        }
+        List<ObjectId> ownerIds = skills.stream().map(Skill::getUserId).distinct().toList();
+        Map<ObjectId, User> owners = userRepository.findUsernamesByIds(ownerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<SkillMatch> matches = new ArrayList<>(skills.size());
+        for(Skill skill : skills){
+            matches.add(new SkillMatch(skill, owners.get(skill.getUserId())));
+        }
+        return matches;
+    }
+
+    private static Mode parseMode(String mode){
+        if(mode == null){
+            return Mode.PREFIX;
+        }
+        try {
+            return Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("mode must be prefix or text");
+        }
+    }
+
+    private static String encode(String... parts){
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("\n", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor, String kind, int parts){
+        try {
+            String[] decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", parts);
+            if(decoded.length != parts || !decoded[0].equals(kind)){
+                throw new IllegalArgumentException("cursor does not belong to this search");
+            }
+            if(parts == 3){
+                new ObjectId(decoded[2]);
+            } else {
+                Integer.parseInt(decoded[1]);
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
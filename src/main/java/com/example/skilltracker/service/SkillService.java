@@ -1,50 +1,397 @@
 package com.example.skilltracker.service;
 
+import com.example.skilltracker.cache.EncodedSkillList;
+import com.example.skilltracker.cache.SkillBodyCache;
+import com.example.skilltracker.cache.UserSkillCache;
+import com.example.skilltracker.model.BulkImportResult;
 import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillPage;
 import com.example.skilltracker.model.User;
 import com.example.skilltracker.repository.SkillRepository;
 import com.example.skilltracker.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class SkillService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int IMPORT_BATCH_SIZE = 500;
+    public static final int BATCH_QUERY_USERS = 100;
+    // Proficiency sorts by its stored rank, so pages follow the ladder from Beginner to Expert
+    private static final Map<String, String> SORT_FIELDS = Map.of("id", "_id", "name", "name", "proficiency", "proficiencyRank");
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("name", "proficiency", "userId");
+
     @Autowired
     private SkillRepository skillRepository;
 
-    @Autowired
-    private UserService userService;
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserSkillCache userSkillCache;
+
+    @Autowired
+    private SkillWriteBuffer writeBuffer;
+
+    @Autowired
+    private SkillBodyCache skillBodyCache;
+
+    @Value("${skilltracker.batch.max-users:500}")
+    private int maxBatchUsers;
+
+    // Every mutation bumps the user's skill-list version only after the write has landed, so a
+    // reader can never pair the new version with the old list. The bump doubles as the user check.
+    // A replayed create changed nothing, so it neither bumps the version nor announces the skill again.
     public void saveSkill(ObjectId userId, Skill skill){
-        User user = userService.getUserById(userId);
-        Skill saved = skillRepository.save(skill);
-        user.getSkills().add(saved);
-        userService.saveUser(user);
+        skill.setUserId(userId);
+        if(!skillRepository.insertSkill(skill)){
+            return;
+        }
+        if(!bumpVersion(userId)){
+            skillRepository.deleteByIdAndUserId(skill.getId(), userId);
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        eventPublisher.publishEvent(new SkillChangedEvent(SkillChangedEvent.Type.CREATED, userId, skill));
+    }
+    public long getVersion(ObjectId userId){
+        return writeBuffer.version(userId, () -> userSkillCache.getSkillsVersion(userId, userRepository::findSkillsVersion));
     }
     public List<Skill> getAll(ObjectId userId){
-        User user = userService.getUserById(userId);
-        if(user != null){
-            return user.getSkills();
+        return writeBuffer.read(userId, null, () -> userSkillCache.getSkills(userId, this::loadAll));
+    }
+    /**
+     * The plain skill list already encoded as JSON, for the version the caller read with
+     * {@link #getVersion}. Repeated reads of an unchanged list skip serialization entirely.
+     */
+    public EncodedSkillList getAllEncoded(ObjectId userId, long version){
+        return skillBodyCache.get(userId, version, () -> getAll(userId));
+    }
+    private List<Skill> loadAll(ObjectId userId){
+        List<Skill> skills = skillRepository.findByUserId(userId);
+        // Nothing under the new layout yet: the user may still be on the old DBRef array
+        if(skills.isEmpty() && claimLegacySkills(userId)){
+            skills = skillRepository.findByUserId(userId);
+        }
+        return skills;
+    }
+    public SkillPage getPage(ObjectId userId, Integer limit, String after, String sort, Set<String> fields){
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if(size < 1 || size > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String sortField = SORT_FIELDS.get(sort == null ? "id" : sort);
+        if(sortField == null){
+            throw new IllegalArgumentException("sort must be one of " + SORT_FIELDS.keySet());
+        }
+        if(fields != null && !PROJECTABLE_FIELDS.containsAll(fields)){
+            throw new IllegalArgumentException("fields may only contain " + PROJECTABLE_FIELDS);
+        }
+        PageCursor cursor = after == null ? null : PageCursor.decode(after, sortField);
+
+        // One extra row tells us whether another page exists without a count query
+        // Buffered updates are overlaid on the page; until they are flushed they do not move a skill in the sort order
+        List<Skill> skills = writeBuffer.read(userId, fields, () -> {
+            List<Skill> page = skillRepository.findPage(userId, sortField, cursor == null ? null : cursor.value(),
+                    cursor == null ? null : cursor.id(), size + 1, fields);
+            if(page.isEmpty() && cursor == null && claimLegacySkills(userId)){
+                page = skillRepository.findPage(userId, sortField, null, null, size + 1, fields);
+            }
+            return page;
+        });
+        String nextCursor = null;
+        if(skills.size() > size){
+            skills = new ArrayList<>(skills.subList(0, size));
+            nextCursor = PageCursor.of(skills.get(size - 1), sortField).encode();
+        }
+        return new SkillPage(skills, nextCursor);
+    }
+    /**
+     * Reads a JSON array or NDJSON body one item at a time and stores it in bulk batches, so the
+     * request never sits in memory as a whole. Invalid items are reported by position and skipped;
+     * a syntax error stops the import at that point, keeping what was already stored. The version
+     * is bumped after every stored batch, so cached lists never miss skills that are already in
+     * Mongo, even if the body fails to arrive in full.
+     */
+    public BulkImportResult importSkills(ObjectId userId, InputStream body) throws IOException {
+        if(!userRepository.existsById(userId)){
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        BulkImportResult result = new BulkImportResult();
+        List<Skill> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<Integer> positions = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if(array){
+                token = parser.nextToken();
+            }
+            while(token != null && token != JsonToken.END_ARRAY){
+                // Each item is read as its own small tree so a bad item cannot derail the parser
+                JsonNode item = parser.readValueAsTree();
+                result.setReceived(result.getReceived() + 1);
+                try {
+                    Skill skill = objectMapper.treeToValue(item, Skill.class);
+                    if(skill.getName() == null || skill.getName().isBlank()){
+                        result.addError(index, "name must not be empty");
+                    } else {
+                        skill.setId(skill.getId() == null ? new ObjectId() : skill.getId());
+                        skill.setUserId(userId);
+                        batch.add(skill);
+                        positions.add(index);
+                    }
+                } catch (JsonProcessingException e) {
+                    result.addError(index, e.getOriginalMessage());
+                }
+                if(batch.size() == IMPORT_BATCH_SIZE){
+                    flushImportBatch(userId, batch, positions, result);
+                }
+                index++;
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            result.addError(index, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+        flushImportBatch(userId, batch, positions, result);
+        return result;
+    }
+    /**
+     * Writes the user's skills as NDJSON straight from a Mongo cursor, one line per skill.
+     */
+    public void exportSkills(ObjectId userId, OutputStream out) throws IOException {
+        claimLegacySkills(userId);
+        try (Stream<Skill> skills = skillRepository.streamAllByUserId(userId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            // Let the container buffer decide when to flush instead of one flush per line
+            ObjectWriter writer = objectMapper.writerFor(Skill.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            for (Skill skill : (Iterable<Skill>) skills::iterator) {
+                writer.writeValue(generator, writeBuffer.read(userId, null, () -> List.of(skill)).get(0));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+    /**
+     * Checks the ids of a batch read: at least one, at most {@code max-users} distinct ones.
+     * Duplicates are dropped and the request order is kept.
+     */
+    public List<ObjectId> parseUserIds(List<String> userIds){
+        if(userIds == null || userIds.isEmpty()){
+            throw new IllegalArgumentException("userIds must not be empty");
+        }
+        Set<ObjectId> ids = new LinkedHashSet<>();
+        for(String id : userIds){
+            if(id == null || !ObjectId.isValid(id)){
+                throw new IllegalArgumentException("Invalid user id: " + id);
+            }
+            ids.add(new ObjectId(id));
+        }
+        if(ids.size() > maxBatchUsers){
+            throw new IllegalArgumentException("At most " + maxBatchUsers + " user ids per request");
+        }
+        return List.copyOf(ids);
+    }
+    /**
+     * Writes the skill lists of many users as NDJSON, one line of id, username and skills per
+     * existing user in request order; unknown ids are left out. Users are read with one
+     * {@code $in} query (and one more finds any still on the DBRef layout), then the skills of every
+     * {@link #BATCH_QUERY_USERS} users whose list is not cached with another, so the query count
+     * stays bounded. Each group is flushed once assembled.
+     */
+    public void exportSkillLists(List<ObjectId> userIds, OutputStream out) throws IOException {
+        Map<ObjectId, String> usernames = new HashMap<>();
+        for(User user : userRepository.findUsernamesByIds(userIds)){
+            usernames.put(user.getId(), user.getUsername());
+        }
+        List<ObjectId> unclaimed = usernames.keySet().stream().filter(id -> !userSkillCache.isLegacyClaimed(id)).toList();
+        if(!unclaimed.isEmpty()){
+            for(ObjectId claimed : skillRepository.claimLegacySkills(unclaimed)){
+                userSkillCache.invalidateSkills(claimed);
+                skillBodyCache.invalidate(claimed);
+            }
+            unclaimed.forEach(userSkillCache::markLegacyClaimed);
+        }
+        List<ObjectId> found = userIds.stream().filter(usernames::containsKey).toList();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writerFor(User.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            for(int from = 0; from < found.size(); from += BATCH_QUERY_USERS){
+                List<ObjectId> group = found.subList(from, Math.min(from + BATCH_QUERY_USERS, found.size()));
+                Map<ObjectId, List<Skill>> skills = new HashMap<>();
+                List<ObjectId> uncached = new ArrayList<>();
+                for(ObjectId userId : group){
+                    List<Skill> cached = userSkillCache.peekSkills(userId);
+                    if(cached == null){
+                        uncached.add(userId);
+                    } else {
+                        skills.put(userId, cached);
+                    }
+                }
+                if(!uncached.isEmpty()){
+                    for(Skill skill : skillRepository.findByUserIdIn(uncached)){
+                        skills.computeIfAbsent(skill.getUserId(), id -> new ArrayList<>()).add(skill);
+                    }
+                }
+                for(ObjectId userId : group){
+                    User user = new User();
+                    user.setId(userId);
+                    user.setUsername(usernames.get(userId));
+                    user.setSkills(writeBuffer.read(userId, null, () -> skills.getOrDefault(userId, List.of())));
+                    writer.writeValue(generator, user);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            }
         }
-        return new ArrayList<>();
     }
     public Skill getSkillById(ObjectId id){
-        return skillRepository.findById(id).orElse(null);
+        Skill skill = skillRepository.findById(id).orElse(null);
+        return skill == null ? null : writeBuffer.read(skill.getUserId(), null, () -> List.of(skill)).get(0);
+    }
+    public boolean updateSkill(ObjectId userId, ObjectId skillId, Skill skill){
+        if(writeBuffer.isEnabled()){
+            // Checked in Mongo rather than the cached list, which may still hold a skill deleted on another node.
+            // A skill already queued was checked when it was, so merging into it stays free.
+            if(!writeBuffer.isQueued(userId, skillId) && !skillRepository.existsByIdAndUserId(skillId, userId)
+                    && !(claimLegacySkills(userId) && skillRepository.existsByIdAndUserId(skillId, userId))){
+                return false;
+            }
+            writeBuffer.offer(userId, skillId, skill.getName(), skill.getProficiency());
+            return true;
+        }
+        Skill previous = skillRepository.updateSkillFields(userId, skillId, skill.getName(), skill.getProficiency());
+        if(previous == null && claimLegacySkills(userId)){
+            previous = skillRepository.updateSkillFields(userId, skillId, skill.getName(), skill.getProficiency());
+        }
+        if(previous == null){
+            return false;
+        }
+        bumpVersion(userId);
+        Skill changed = new Skill(skillId, emptyToNull(skill.getName()), skill.getProficiency(), userId);
+        eventPublisher.publishEvent(new SkillChangedEvent(SkillChangedEvent.Type.UPDATED, userId, changed, previous));
+        return true;
     }
     public void deleteSkillById(ObjectId id, ObjectId userId){
-        User user = userService.getUserById(userId);
-        if(user != null){
-            skillRepository.deleteById(id);
-            user.getSkills().removeIf(s -> s.getId().equals(id));
-            userService.saveUser(user);
+        writeBuffer.discard(userId, id);
+        Skill deleted = skillRepository.removeSkill(userId, id);
+        if(deleted == null && claimLegacySkills(userId)){
+            deleted = skillRepository.removeSkill(userId, id);
+        }
+        if(deleted != null){
+            bumpVersion(userId);
+            eventPublisher.publishEvent(new SkillChangedEvent(SkillChangedEvent.Type.DELETED, userId,
+                    new Skill(id, null, null, userId), deleted));
+        }
+    }
+    // The cache is dropped after the version bump: dropping it earlier would let a reader
+    // cache the pre-bump version next to the post-write list
+    private boolean bumpVersion(ObjectId userId){
+        boolean exists = userRepository.incrementSkillsVersion(userId);
+        userSkillCache.invalidateSkills(userId);
+        skillBodyCache.invalidate(userId);
+        return exists;
+    }
+    // A claim changes what the list holds, so a cached empty list has to go with it. Users already
+    // claimed are remembered so an empty list does not cost a users lookup on every uncached read.
+    private boolean claimLegacySkills(ObjectId userId){
+        if(userSkillCache.isLegacyClaimed(userId)){
+            return false;
+        }
+        long claimed = skillRepository.claimLegacySkills(userId);
+        userSkillCache.markLegacyClaimed(userId);
+        if(claimed == 0){
+            return false;
+        }
+        userSkillCache.invalidateSkills(userId);
+        skillBodyCache.invalidate(userId);
+        return true;
+    }
+    private void flushImportBatch(ObjectId userId, List<Skill> batch, List<Integer> positions, BulkImportResult result){
+        if(batch.isEmpty()){
+            return;
+        }
+        Map<Integer, String> failures = skillRepository.insertBatch(batch);
+        failures.forEach((i, message) -> result.addError(positions.get(i), message));
+        List<Skill> stored = new ArrayList<>(batch.size() - failures.size());
+        for(int i = 0; i < batch.size(); i++){
+            if(!failures.containsKey(i)){
+                stored.add(batch.get(i));
+            }
+        }
+        result.setImported(result.getImported() + stored.size());
+        if(!stored.isEmpty()){
+            bumpVersion(userId);
+        }
+        eventPublisher.publishEvent(new SkillsImportedEvent(userId, stored));
+        batch.clear();
+        positions.clear();
+    }
+    private static String emptyToNull(String value){
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    // Position of the last skill on a page: sort field, its value there, and the tie-breaking id
+    private record PageCursor(String sortField, ObjectId id, Object value) {
+
+        static PageCursor of(Skill skill, String sortField){
+            Object value = switch (sortField) {
+                case "name" -> skill.getName();
+                // Present on every level once ProficiencyNormalizationRunner has backfilled older documents
+                case "proficiencyRank" -> skill.getProficiencyRank();
+                default -> null;
+            };
+            return new PageCursor(sortField, skill.getId(), value);
+        }
+
+        static PageCursor decode(String cursor, String sortField){
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+                if(parts.length != 3 || !parts[0].equals(sortField)){
+                    throw new IllegalArgumentException("cursor does not match sort " + sortField);
+                }
+                String value = parts[2].startsWith("+") ? parts[2].substring(1) : null;
+                return new PageCursor(sortField, new ObjectId(parts[1]),
+                        value != null && sortField.equals("proficiencyRank") ? Integer.valueOf(value) : value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+
+        String encode(){
+            String raw = sortField + "\n" + id.toHexString() + "\n" + (value == null ? "-" : "+" + value);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
         }
     }
 }
@@ -0,0 +1,319 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.cache.UserSkillCache;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.repository.SkillRepository;
+import com.example.skilltracker.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind buffer for skill updates, used by {@link SkillService} when
+ * {@code skilltracker.write-buffer.enabled} is set.
+ *
+ * Updates are held per user for {@code window-ms} from the first one; repeated updates to the same
+ * skill in that time merge into one, and the user's batch is then stored in a single bulk write
+ * with one version increment. Reads on this node go through {@link #read} and {@link #version}, so
+ * a client sees its own updates before they are flushed. Other nodes see them after the flush.
+ *
+ * At most {@code max-pending} skills wait at once. A caller that finds the buffer full waits up
+ * to {@code offer-timeout-ms} for a flush to make room and is then turned away with
+ * {@link RejectedExecutionException}. Whatever is still pending at shutdown is flushed first.
+ */
+@Component
+public class SkillWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillWriteBuffer.class);
+
+    private final Map<ObjectId, Pending> pending = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long windowMillis;
+    private final long offerTimeoutMillis;
+    private final Semaphore capacity;
+    private final ScheduledThreadPoolExecutor flusher;
+    private volatile boolean closed;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSkillCache userSkillCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public SkillWriteBuffer(@Value("${skilltracker.write-buffer.enabled:false}") boolean enabled,
+                            @Value("${skilltracker.write-buffer.window-ms:250}") long windowMillis,
+                            @Value("${skilltracker.write-buffer.max-pending:10000}") int maxPending,
+                            @Value("${skilltracker.write-buffer.offer-timeout-ms:500}") long offerTimeoutMillis,
+                            @Value("${skilltracker.write-buffer.flush-threads:2}") int flushThreads) {
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.capacity = new Semaphore(maxPending);
+        this.flusher = new ScheduledThreadPoolExecutor(flushThreads, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("skill-write-flusher-" + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Shutdown flushes everything itself; timers still waiting would only race it
+        flusher.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a change to one of the user's skills. Null or empty values leave the field alone, and
+     * a later change to the same skill wins field by field.
+     *
+     * @throws RejectedExecutionException when the buffer stays full for the offer timeout, or is shut down
+     */
+    public void offer(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency) {
+        boolean permitted = false;
+        try {
+            while (true) {
+                if (closed) {
+                    throw new RejectedExecutionException("Skill write buffer is shut down");
+                }
+                Pending batch = pending.computeIfAbsent(userId, this::schedule);
+                synchronized (batch) {
+                    if (!batch.flushed) {
+                        Skill change = batch.changes.get(skillId);
+                        if (change != null || permitted) {
+                            if (change == null) {
+                                change = new Skill(skillId, null, null, userId);
+                                batch.changes.put(skillId, change);
+                                size.incrementAndGet();
+                                permitted = false;
+                            }
+                            merge(change, name, proficiency);
+                            batch.edits++;
+                            received.increment();
+                            return;
+                        }
+                    }
+                }
+                // A new skill takes a slot; wait for one outside the lock so a flush can free it
+                if (!permitted && !capacity.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("Skill write buffer is full");
+                }
+                permitted = true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for the skill write buffer", e);
+        } finally {
+            if (permitted) {
+                capacity.release();
+            }
+        }
+    }
+
+    /**
+     * Whether a change to the skill is waiting to be flushed.
+     */
+    public boolean isQueued(ObjectId userId, ObjectId skillId) {
+        Pending batch = pending.get(userId);
+        if (batch == null) {
+            return false;
+        }
+        synchronized (batch) {
+            return !batch.flushed && batch.changes.containsKey(skillId);
+        }
+    }
+
+    /**
+     * Drops a queued change to a skill that is being deleted, so the flush does not touch it.
+     */
+    public void discard(ObjectId userId, ObjectId skillId) {
+        Pending batch = pending.get(userId);
+        if (batch == null) {
+            return;
+        }
+        synchronized (batch) {
+            if (!batch.flushed && batch.changes.remove(skillId) != null) {
+                size.decrementAndGet();
+                capacity.release();
+            }
+        }
+    }
+
+    /**
+     * Loads the user's skills with queued changes applied. Returns new objects and leaves the loaded
+     * ones alone, since those may be shared through the cache. With {@code fields} set only those
+     * fields are overlaid, so projections stay intact; ordering is the loader's.
+     */
+    public List<Skill> read(ObjectId userId, Set<String> fields, Supplier<List<Skill>> loader) {
+        Pending batch = pending.get(userId);
+        if (batch == null) {
+            return loader.get();
+        }
+        // Holding the lock keeps a flush from landing between the load and the overlay
+        synchronized (batch) {
+            List<Skill> skills = loader.get();
+            if (batch.flushed || batch.changes.isEmpty()) {
+                return skills;
+            }
+            List<Skill> merged = new ArrayList<>(skills.size());
+            for (Skill skill : skills) {
+                Skill change = skill == null ? null : batch.changes.get(skill.getId());
+                merged.add(change == null ? skill : overlay(skill, change, fields));
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * The user's skill-list version counting queued changes. A flush adds exactly that many to the
+     * stored version, so the number a client saw stays valid after its changes land.
+     */
+    public long version(ObjectId userId, LongSupplier loader) {
+        Pending batch = pending.get(userId);
+        if (batch == null) {
+            return loader.getAsLong();
+        }
+        synchronized (batch) {
+            return loader.getAsLong() + (batch.flushed ? 0 : batch.edits);
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    public double getFlushSeconds() {
+        return flushNanos.sum() / 1e9;
+    }
+
+    /**
+     * Stores everything queued so far on the calling thread, without waiting for the window.
+     */
+    public void flush() {
+        pending.forEach(this::flush);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        closed = true;
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private Pending schedule(ObjectId userId) {
+        Pending batch = new Pending();
+        if (!closed) {
+            flusher.schedule(() -> flush(userId, batch), windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return batch;
+    }
+
+    private void flush(ObjectId userId, Pending batch) {
+        long start = System.nanoTime();
+        Collection<Skill> changes;
+        Map<ObjectId, Skill> previous;
+        synchronized (batch) {
+            if (batch.flushed) {
+                return;
+            }
+            changes = batch.changes.values();
+            try {
+                previous = changes.isEmpty() ? Map.of() : skillRepository.updateSkillsFields(userId, changes);
+                userRepository.incrementSkillsVersion(userId, batch.edits);
+            } catch (RuntimeException e) {
+                // Keep the batch visible and try again; new changes keep merging into it meanwhile
+                log.warn("Flushing {} skill changes for user {} failed", changes.size(), userId, e);
+                if (!closed) {
+                    flusher.schedule(() -> flush(userId, batch), windowMillis, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+            batch.flushed = true;
+            pending.remove(userId, batch);
+            userSkillCache.invalidateSkills(userId);
+            size.addAndGet(-changes.size());
+            capacity.release(changes.size());
+        }
+        written.add(previous.size());
+        flushes.increment();
+        flushNanos.add(System.nanoTime() - start);
+        for (Skill change : changes) {
+            Skill before = previous.get(change.getId());
+            if (before != null) {
+                eventPublisher.publishEvent(new SkillChangedEvent(SkillChangedEvent.Type.UPDATED, userId, change, before));
+            }
+        }
+    }
+
+    private static void merge(Skill change, String name, Proficiency proficiency) {
+        if (name != null && !name.isEmpty()) {
+            change.setName(name);
+        }
+        if (proficiency != null) {
+            change.setProficiency(proficiency);
+        }
+    }
+
+    private static Skill overlay(Skill skill, Skill change, Set<String> fields) {
+        boolean name = change.getName() != null && (fields == null || fields.contains("name") || skill.getName() != null);
+        boolean proficiency = change.getProficiency() != null
+                && (fields == null || fields.contains("proficiency") || skill.getProficiency() != null);
+        return new Skill(skill.getId(), name ? change.getName() : skill.getName(),
+                proficiency ? change.getProficiency() : skill.getProficiency(), skill.getUserId());
+    }
+
+    // One user's queued changes; every field is guarded by the object's own lock
+    private static final class Pending {
+        private final Map<ObjectId, Skill> changes = new LinkedHashMap<>();
+        private long edits;
+        private boolean flushed;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.model.Skill;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+/**
+ * Published by {@link SkillService} once per stored batch of a bulk import, instead of one
+ * {@link SkillChangedEvent} per skill.
+ */
+public record SkillsImportedEvent(ObjectId userId, List<Skill> skills) {
+}
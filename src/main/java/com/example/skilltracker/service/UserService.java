@@ -1,24 +1,56 @@
 package com.example.skilltracker.service;
 
+import com.example.skilltracker.cache.UserSkillCache;
+import com.example.skilltracker.model.Skill;
 import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.SkillRepository;
 import com.example.skilltracker.repository.UserRepository;
+import com.example.skilltracker.security.CredentialCache;
+import com.example.skilltracker.security.TokenService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
 
+    public static final int EXPORT_BATCH_SIZE = 500;
+
     @Autowired
     private UserRepository userRepository;
-
-    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private CredentialCache credentialCache;
+    @Autowired
+    private UserSkillCache userSkillCache;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private SkillAnalyticsService skillAnalyticsService;
+    @Autowired
+    private ExpertFinderService expertFinderService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    // The shared timed encoder, so registration hashes are measured too
+    @Autowired
+    private PasswordEncoder passwordEncoder;
 
     public void saveNewUser(User user){
         user.setRoles(Arrays.asList("ROLE_USER"));
@@ -26,19 +58,93 @@ public class UserService {
         userRepository.save(user);
     }
     public void saveUser(User user){
-        userRepository.save(user);
+        if(user.getId() == null){
+            userRepository.save(user);
+            return;
+        }
+        // Field-level update so documents still carrying legacy skill refs keep them until migrated
+        userRepository.updateAccount(user);
+        tokenService.revokeUser(user.getId());
+        credentialCache.invalidateUser(user.getId());
+        userSkillCache.invalidateUser(user.getId());
     }
+    /**
+     * @deprecated loads every user into one list; use {@link #exportUsers} to stream them instead
+     */
+    @Deprecated
     public List<User> getAll(){
         return userRepository.findAll();
     }
+    /**
+     * Writes users as NDJSON straight from a Mongo cursor in id order, starting after {@code after}.
+     * Users go out in batches; with {@code includeSkills} each batch's skills are read in one
+     * {@code $in} query, so memory is bounded by the batch, not by the number of users.
+     * The password hash is never read.
+     */
+    public void exportUsers(ObjectId after, int limit, Collection<String> fields, boolean includeSkills,
+                            OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAfter(after, limit, fields);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            // Let the container buffer decide when to flush instead of one flush per line
+            ObjectWriter writer = objectMapper.writerFor(User.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            List<User> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            for (User user : (Iterable<User>) users::iterator) {
+                batch.add(user);
+                if(batch.size() == EXPORT_BATCH_SIZE){
+                    writeExportBatch(batch, includeSkills, writer, generator);
+                }
+            }
+            writeExportBatch(batch, includeSkills, writer, generator);
+        }
+    }
+    private void writeExportBatch(List<User> batch, boolean includeSkills, ObjectWriter writer, JsonGenerator generator) throws IOException {
+        Map<ObjectId, List<Skill>> skills = !includeSkills || batch.isEmpty() ? Map.of()
+                : skillRepository.findByUserIdIn(batch.stream().map(User::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(Skill::getUserId));
+        for(User user : batch){
+            user.setSkills(includeSkills ? skills.getOrDefault(user.getId(), List.of()) : null);
+            writer.writeValue(generator, user);
+            generator.writeRaw('\n');
+        }
+        batch.clear();
+    }
     public User getUserById(ObjectId id){
-        User user = userRepository.findById(id).orElse(null);
-        return user;
+        User cached = userSkillCache.getUser(id, key -> userRepository.findById(key).orElse(null));
+        return cached == null ? null : copyOf(cached, null);
+    }
+    // Served from the cached document; the projection is applied in memory and never includes the password
+    public User getUserById(ObjectId id, Collection<String> fields){
+        User cached = userSkillCache.getUser(id, key -> userRepository.findById(key).orElse(null));
+        return cached == null ? null : copyOf(cached, fields);
     }
     private  User findUserByUsername(String username){
          return userRepository.findUserByUsername(username);
     }
     public void deleteById(ObjectId id){
         userRepository.deleteById(id);
+        // Read the skills for the analytics rollups while they still exist
+        skillAnalyticsService.removeUser(id);
+        skillRepository.deleteByUserId(id);
+        expertFinderService.removeUser(id);
+        tokenService.revokeUser(id);
+        credentialCache.invalidateUser(id);
+        userSkillCache.invalidateUser(id);
+    }
+    // Callers modify the user they get back, so never hand out the cached instance itself
+    static User copyOf(User source, Collection<String> fields){
+        User copy = new User();
+        copy.setId(source.getId());
+        if(fields == null){
+            copy.setPassword(source.getPassword());
+            copy.setSkillsVersion(source.getSkillsVersion());
+        }
+        if(fields == null || fields.contains("username")){
+            copy.setUsername(source.getUsername());
+        }
+        if(fields == null || fields.contains("roles")){
+            copy.setRoles(source.getRoles() == null ? null : new ArrayList<>(source.getRoles()));
+        }
+        return copy;
     }
 }
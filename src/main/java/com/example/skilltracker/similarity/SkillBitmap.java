@@ -0,0 +1,226 @@
+package com.example.skilltracker.similarity;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout: values are split by their high 16
+ * bits into chunks of 65536, and each chunk is stored as a sorted {@code char[]} while it holds
+ * at most {@value #ARRAY_MAX} values, or as a 1024-word bitset once it is denser than that.
+ * A sparse skill costs two bytes per user that has it, a common one at most one bit per user.
+ *
+ * Not thread-safe; {@link SkillSimilarityIndex} guards every bitmap with its own lock.
+ */
+public final class SkillBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    // Sorted chunk keys, with a char[] or long[] container and its cardinality at the same position
+    private char[] keys = new char[2];
+    private Object[] containers = new Object[2];
+    private int[] cardinalities = new int[2];
+    private int size;
+
+    public boolean add(int value) {
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            insertContainer(-index - 1, key, new char[]{low});
+            return true;
+        }
+        if (containers[index] instanceof long[] words) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= bit;
+            cardinalities[index]++;
+            return true;
+        }
+        char[] values = (char[]) containers[index];
+        int cardinality = cardinalities[index];
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (cardinality == ARRAY_MAX) {
+            long[] words = toWords(values, cardinality);
+            words[low >>> 6] |= 1L << low;
+            containers[index] = words;
+        } else {
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+                containers[index] = values;
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = low;
+        }
+        cardinalities[index]++;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        int cardinality = cardinalities[index];
+        if (containers[index] instanceof long[] words) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return false;
+            }
+            words[low >>> 6] &= ~bit;
+            if (--cardinalities[index] == ARRAY_MAX) {
+                containers[index] = toValues(words, ARRAY_MAX);
+            }
+            return true;
+        }
+        char[] values = (char[]) containers[index];
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position < 0) {
+            return false;
+        }
+        if (cardinality == 1) {
+            removeContainer(index);
+            return true;
+        }
+        System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+        cardinalities[index]--;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        if (containers[index] instanceof long[] words) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[index], 0, cardinalities[index], low) >= 0;
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds {@code weight} to {@code counters[low]} for every value in chunk {@code key}, where
+     * {@code low} is the value's lower 16 bits. Bitset chunks are walked a word at a time, so
+     * empty stretches cost one comparison per 64 values.
+     */
+    public void accumulate(int key, int[] counters, int weight) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) key);
+        if (index < 0) {
+            return;
+        }
+        if (containers[index] instanceof long[] words) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    counters[(word << 6) + Long.numberOfTrailingZeros(bits)] += weight;
+                    bits &= bits - 1;
+                }
+            }
+            return;
+        }
+        char[] values = (char[]) containers[index];
+        for (int i = 0, cardinality = cardinalities[index]; i < cardinality; i++) {
+            counters[values[i]] += weight;
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int index = 0; index < size; index++) {
+            int high = keys[index] << 16;
+            if (containers[index] instanceof long[] words) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long bits = words[word];
+                    while (bits != 0) {
+                        action.accept(high | (word << 6) + Long.numberOfTrailingZeros(bits));
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) containers[index];
+                for (int i = 0; i < cardinalities[index]; i++) {
+                    action.accept(high | values[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Approximate heap size of the containers, for the memory gauge.
+     */
+    public long sizeInBytes() {
+        long bytes = 16L + keys.length * 2L + containers.length * 4L + cardinalities.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i] instanceof long[] ? 16 + BITMAP_WORDS * 8 : 16 + ((char[]) containers[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    boolean isBitsetChunk(int key) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) key);
+        return index >= 0 && containers[index] instanceof long[];
+    }
+
+    private void insertContainer(int index, char key, Object container) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        cardinalities[index] = 1;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private static long[] toWords(char[] values, int cardinality) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+
+    private static char[] toValues(long[] words, int cardinality) {
+        char[] values = new char[cardinality];
+        int i = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                values[i++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+}
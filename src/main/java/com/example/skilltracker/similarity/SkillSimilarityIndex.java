@@ -0,0 +1,416 @@
+package com.example.skilltracker.similarity;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Inverted index from lower-cased skill name to the users that have it, for "who is like this
+ * user" and "who knows these skills" queries over the whole organization.
+ *
+ * Users are numbered densely and each (skill, level) pair keeps a {@link SkillBitmap} of user
+ * numbers, where the level is the highest one the user holds for that skill. A query walks the
+ * bitmaps of the skills it asks about and counts matches per user into one counter array per
+ * 65536-user chunk; chunks are independent, so they run in parallel on the common fork-join pool
+ * and each keeps its own top-k before the results are merged.
+ *
+ * Writes are keyed by skill id, so applying the same put or remove twice changes nothing.
+ */
+public class SkillSimilarityIndex {
+
+    // Level 0 is a skill without proficiency, then one per constant
+    static final int LEVELS = Proficiency.values().length + 1;
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK = 1 << CHUNK_BITS;
+    // Per skill entry: the skill id as three ints, then skill number << 3 | level
+    private static final int ENTRY = 4;
+
+    public record Match(ObjectId userId, double score, int shared) {
+    }
+
+    private record Candidate(int user, double score, int shared) {
+    }
+
+    private static final Comparator<Candidate> BY_SCORE = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparing(Comparator.comparingInt(Candidate::shared).reversed())
+            .thenComparingInt(Candidate::user);
+    private static final Comparator<Candidate> BY_COVERAGE = Comparator.comparingInt(Candidate::shared).reversed()
+            .thenComparing(Comparator.comparingDouble(Candidate::score).reversed())
+            .thenComparingInt(Candidate::user);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<ObjectId, Integer> userNumbers = new HashMap<>();
+    private ObjectId[] users = new ObjectId[1024];
+    private int[][] entries = new int[1024][];
+    private int[] entryCounts = new int[1024];
+    // Distinct skills and summed level weights per user, the set sizes in the similarity formulas
+    private int[] distinct = new int[1024];
+    private int[] weights = new int[1024];
+    private int userCount;
+
+    private final Map<String, Integer> skillNumbers = new HashMap<>();
+    private final List<SkillBitmap[]> bitmaps = new ArrayList<>();
+
+    /**
+     * Adds the skill to the user, or moves it to the new name and level if the index already has it.
+     * A skill without a name is removed.
+     */
+    public void put(ObjectId userId, ObjectId skillId, String name, Proficiency proficiency) {
+        if (name == null || name.isBlank()) {
+            remove(userId, skillId);
+            return;
+        }
+        int[] id = idInts(skillId);
+        lock.writeLock().lock();
+        try {
+            int user = userNumber(userId);
+            int packed = skillNumber(Skill.lowerCase(name)) << 3 | level(proficiency);
+            int entry = find(user, id);
+            if (entry >= 0) {
+                int old = entries[user][entry + 3];
+                if (old == packed) {
+                    return;
+                }
+                entries[user][entry + 3] = packed;
+                refresh(user, old >>> 3);
+            } else {
+                append(user, id, packed);
+            }
+            refresh(user, packed >>> 3);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ObjectId userId, ObjectId skillId) {
+        int[] id = idInts(skillId);
+        lock.writeLock().lock();
+        try {
+            Integer user = userNumbers.get(userId);
+            int entry = user == null ? -1 : find(user, id);
+            if (entry < 0) {
+                return;
+            }
+            int[] userEntries = entries[user];
+            int skill = userEntries[entry + 3] >>> 3;
+            int last = --entryCounts[user] * ENTRY;
+            System.arraycopy(userEntries, last, userEntries, entry, ENTRY);
+            refresh(user, skill);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeUser(ObjectId userId) {
+        lock.writeLock().lock();
+        try {
+            Integer user = userNumbers.remove(userId);
+            if (user == null) {
+                return;
+            }
+            int[] userEntries = entries[user];
+            int count = entryCounts[user];
+            entryCounts[user] = 0;
+            for (int i = 0; i < count; i++) {
+                refresh(user, userEntries[i * ENTRY + 3] >>> 3);
+            }
+            // The number is not reused; it just stays out of every bitmap
+            users[user] = null;
+            entries[user] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Users sharing the most skills with {@code userId}, best first. Unweighted this is the
+     * Jaccard index of the two skill sets; weighted, each shared skill counts the lower of the two
+     * level weights (1 to 4) over the summed weights of both sets, so an expert ranks closer to
+     * another expert than to a beginner.
+     */
+    public List<Match> similar(ObjectId userId, int limit, boolean weighted) {
+        lock.readLock().lock();
+        try {
+            Integer user = userNumbers.get(userId);
+            if (user == null || distinct[user] == 0) {
+                return List.of();
+            }
+            Map<Integer, Integer> levels = skillLevels(user);
+            int own = weighted ? weights[user] : distinct[user];
+            return top(limit, false, key -> {
+                int[] shared = new int[CHUNK];
+                int[] overlap = weighted ? new int[CHUNK] : shared;
+                levels.forEach((skill, ownLevel) -> {
+                    SkillBitmap[] byLevel = bitmaps.get(skill);
+                    for (int level = 0; level < LEVELS; level++) {
+                        byLevel[level].accumulate(key, shared, 1);
+                        if (weighted) {
+                            byLevel[level].accumulate(key, overlap, Math.min(weight(ownLevel), weight(level)));
+                        }
+                    }
+                });
+                return chunkTop(key, shared, limit, false, (other, common) -> {
+                    if (other == user) {
+                        return -1;
+                    }
+                    int intersection = overlap[other & (CHUNK - 1)];
+                    int theirs = weighted ? weights[other] : distinct[other];
+                    return (double) intersection / (own + theirs - intersection);
+                });
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Users holding the most of the given skills, best first. {@code shared} is how many of them a
+     * user has and ranks first; the score is their summed level weights over what an expert in
+     * every requested skill would have, and breaks ties.
+     */
+    public List<Match> experts(Collection<String> names, int limit) {
+        Set<String> wanted = new LinkedHashSet<>();
+        for (String name : names) {
+            wanted.add(Skill.lowerCase(name));
+        }
+        lock.readLock().lock();
+        try {
+            List<SkillBitmap[]> known = wanted.stream()
+                    .map(skillNumbers::get)
+                    .filter(Objects::nonNull)
+                    .map(bitmaps::get)
+                    .toList();
+            if (known.isEmpty()) {
+                return List.of();
+            }
+            double best = (double) weight(LEVELS - 1) * wanted.size();
+            return top(limit, true, key -> {
+                int[] covered = new int[CHUNK];
+                int[] points = new int[CHUNK];
+                for (SkillBitmap[] byLevel : known) {
+                    for (int level = 0; level < LEVELS; level++) {
+                        byLevel[level].accumulate(key, covered, 1);
+                        byLevel[level].accumulate(key, points, weight(level));
+                    }
+                }
+                return chunkTop(key, covered, limit, true, (user, count) -> points[user & (CHUNK - 1)] / best);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int userCount() {
+        lock.readLock().lock();
+        try {
+            return userNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int skillCount() {
+        lock.readLock().lock();
+        try {
+            return skillNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap used by the bitmaps.
+     */
+    public long bitmapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (SkillBitmap[] byLevel : bitmaps) {
+                for (SkillBitmap bitmap : byLevel) {
+                    bytes += bitmap.sizeInBytes();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private interface ChunkSearch {
+        List<Candidate> search(int key);
+    }
+
+    private interface Scorer {
+        // Negative to skip the user
+        double score(int user, int shared);
+    }
+
+    // Runs one search per chunk in parallel and merges their top-k lists
+    private List<Match> top(int limit, boolean coverageFirst, ChunkSearch search) {
+        int chunks = (userCount + CHUNK - 1) >>> CHUNK_BITS;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(search::search)
+                .flatMap(List::stream)
+                .sorted(coverageFirst ? BY_COVERAGE : BY_SCORE)
+                .limit(limit)
+                .map(candidate -> new Match(users[candidate.user()], candidate.score(), candidate.shared()))
+                .toList();
+    }
+
+    private List<Candidate> chunkTop(int key, int[] shared, int limit, boolean coverageFirst, Scorer scorer) {
+        // Worst candidate at the head, so it is the one dropped
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, (coverageFirst ? BY_COVERAGE : BY_SCORE).reversed());
+        int base = key << CHUNK_BITS;
+        for (int low = 0; low < CHUNK; low++) {
+            int common = shared[low];
+            if (common == 0) {
+                continue;
+            }
+            double score = scorer.score(base | low, common);
+            if (score < 0) {
+                continue;
+            }
+            // Users come in ascending order, so a full tie with the worst kept one loses too
+            Candidate worst = heap.size() == limit ? heap.peek() : null;
+            if (worst != null && (coverageFirst
+                    ? common < worst.shared() || common == worst.shared() && score <= worst.score()
+                    : score < worst.score() || score == worst.score() && common <= worst.shared())) {
+                continue;
+            }
+            heap.offer(new Candidate(base | low, score, common));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        return new ArrayList<>(heap);
+    }
+
+    private Map<Integer, Integer> skillLevels(int user) {
+        Map<Integer, Integer> levels = new HashMap<>();
+        int[] userEntries = entries[user];
+        for (int i = 0; i < entryCounts[user]; i++) {
+            int packed = userEntries[i * ENTRY + 3];
+            levels.merge(packed >>> 3, packed & 7, Math::max);
+        }
+        return levels;
+    }
+
+    // Moves the user to the bitmap of their highest level for the skill, or out of all of them
+    private void refresh(int user, int skill) {
+        int highest = -1;
+        int[] userEntries = entries[user];
+        for (int i = 0; i < entryCounts[user]; i++) {
+            int packed = userEntries[i * ENTRY + 3];
+            if (packed >>> 3 == skill) {
+                highest = Math.max(highest, packed & 7);
+            }
+        }
+        SkillBitmap[] byLevel = bitmaps.get(skill);
+        int current = -1;
+        for (int level = 0; level < LEVELS && current < 0; level++) {
+            if (byLevel[level].contains(user)) {
+                current = level;
+            }
+        }
+        if (current == highest) {
+            return;
+        }
+        if (current >= 0) {
+            byLevel[current].remove(user);
+            distinct[user]--;
+            weights[user] -= weight(current);
+        }
+        if (highest >= 0) {
+            byLevel[highest].add(user);
+            distinct[user]++;
+            weights[user] += weight(highest);
+        }
+    }
+
+    private int find(int user, int[] id) {
+        int[] userEntries = entries[user];
+        for (int i = 0; i < entryCounts[user]; i++) {
+            int at = i * ENTRY;
+            if (userEntries[at] == id[0] && userEntries[at + 1] == id[1] && userEntries[at + 2] == id[2]) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    private void append(int user, int[] id, int packed) {
+        int[] userEntries = entries[user];
+        int at = entryCounts[user] * ENTRY;
+        if (userEntries == null) {
+            userEntries = new int[ENTRY * 4];
+        } else if (at == userEntries.length) {
+            userEntries = Arrays.copyOf(userEntries, at * 2);
+        }
+        userEntries[at] = id[0];
+        userEntries[at + 1] = id[1];
+        userEntries[at + 2] = id[2];
+        userEntries[at + 3] = packed;
+        entries[user] = userEntries;
+        entryCounts[user]++;
+    }
+
+    private int userNumber(ObjectId userId) {
+        Integer existing = userNumbers.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+        if (userCount == users.length) {
+            int capacity = userCount * 2;
+            users = Arrays.copyOf(users, capacity);
+            entries = Arrays.copyOf(entries, capacity);
+            entryCounts = Arrays.copyOf(entryCounts, capacity);
+            distinct = Arrays.copyOf(distinct, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        int user = userCount++;
+        users[user] = userId;
+        userNumbers.put(userId, user);
+        return user;
+    }
+
+    private int skillNumber(String nameLower) {
+        return skillNumbers.computeIfAbsent(nameLower, name -> {
+            SkillBitmap[] byLevel = new SkillBitmap[LEVELS];
+            for (int level = 0; level < LEVELS; level++) {
+                byLevel[level] = new SkillBitmap();
+            }
+            bitmaps.add(byLevel);
+            return bitmaps.size() - 1;
+        });
+    }
+
+    private static int level(Proficiency proficiency) {
+        return proficiency == null ? 0 : proficiency.ordinal() + 1;
+    }
+
+    // A skill without a level counts like a beginner one
+    private static int weight(int level) {
+        return Math.max(level, 1);
+    }
+
+    private static int[] idInts(ObjectId id) {
+        ByteBuffer bytes = ByteBuffer.wrap(id.toByteArray());
+        return new int[]{bytes.getInt(), bytes.getInt(), bytes.getInt()};
+    }
+}
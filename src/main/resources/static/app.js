@@ -3,8 +3,16 @@ const apiStatus = document.getElementById("apiStatus");
 
 const state = {
   autoRefreshId: null,
+  token: null,
+  tokenExpiresAt: 0,
+  skillsEtag: null,
+  skillsUserId: null,
+  stream: null,
 };
 
+// Returned by request() when the server answers 304 Not Modified
+const NOT_MODIFIED = Symbol("not-modified");
+
 const els = {
   baseUrl: document.getElementById("baseUrl"),
   username: document.getElementById("username"),
@@ -58,6 +66,30 @@ const authHeader = () => {
   return `Basic ${btoa(`${username}:${password}`)}`;
 };
 
+// Prefer the signed token handed out by /login; it skips BCrypt and the account is read from the server's cache
+const bearerHeader = () => {
+  if (!state.token || Date.now() >= state.tokenExpiresAt) return null;
+  return `Bearer ${state.token}`;
+};
+
+const clearToken = () => {
+  state.token = null;
+  state.tokenExpiresAt = 0;
+};
+
+let renewal = null;
+
+// The server swaps in a fresh token while one is in use; a token that lapsed anyway (an idle
+// tab) is replaced by logging in again, once for every request waiting on it
+const renewToken = () => {
+  renewal ??= request("/skill-tracker/login", { basicAuth: true })
+    .catch(clearToken)
+    .finally(() => {
+      renewal = null;
+    });
+  return renewal;
+};
+
 const attach = (id, handler) => {
   const el = document.getElementById(id);
   if (el) el.addEventListener("click", handler);
@@ -67,6 +99,10 @@ const attach = (id, handler) => {
 
 const request = async (path, options = {}) => {
   try {
+    if (!options.skipAuth && !options.basicAuth && state.token && !bearerHeader() && authHeader()) {
+      await renewToken();
+    }
+
     const headers = {
       "Content-Type": "application/json",
       ...(options.headers || {}),
@@ -74,7 +110,7 @@ const request = async (path, options = {}) => {
 
     // Attach auth unless explicitly skipped
     if (!options.skipAuth) {
-      const auth = authHeader();
+      const auth = (!options.basicAuth && bearerHeader()) || authHeader();
       if (auth) headers.Authorization = auth;
     }
 
@@ -83,6 +119,21 @@ const request = async (path, options = {}) => {
       headers,
     });
 
+    const token = response.headers.get("X-Auth-Token");
+    if (token) {
+      const ttl = Number(response.headers.get("X-Auth-Token-Expires-In")) || 0;
+      state.token = token;
+      // Counted as expired a little early so a request never arrives with a token that just ran out
+      state.tokenExpiresAt = Date.now() + Math.max(ttl - 30, 0) * 1000;
+    } else if (response.status === 401) {
+      clearToken();
+    }
+
+    if (response.status === 304) return NOT_MODIFIED;
+
+    const etag = response.headers.get("ETag");
+    if (etag && options.onEtag) options.onEtag(etag);
+
     const text = await response.text();
 
     let data = null;
@@ -207,10 +258,14 @@ els.skillsList.addEventListener("click", async (event) => {
 
 /* ---------------- Login ---------------- */
 
+els.username.addEventListener("input", clearToken);
+els.password.addEventListener("input", clearToken);
+
 attach("btnPing", async () => {
   try {
     const result = await request("/skill-tracker/login", {
       skipAuth: false, // login needs auth (Basic login)
+      basicAuth: true,
     });
 
     setStatus(true, "API authenticated");
@@ -300,8 +355,22 @@ const fetchSkills = async () => {
   const userId = els.skillUserId.value.trim();
   if (!userId) return;
 
+  // Revalidate with the last ETag; an unchanged list costs the server one tiny lookup
+  const headers =
+    state.skillsEtag && state.skillsUserId === userId
+      ? { "If-None-Match": state.skillsEtag }
+      : {};
+
   try {
-    const result = await request(`/skill-tracker/skill/id/${userId}`);
+    const result = await request(`/skill-tracker/skill/id/${userId}`, {
+      headers,
+      onEtag: (etag) => {
+        state.skillsEtag = etag;
+        state.skillsUserId = userId;
+      },
+    });
+    if (result === NOT_MODIFIED) return;
+
     setOutput("Fetch Skills", result);
     renderSkills(result);
   } catch (e) {
@@ -379,14 +448,73 @@ attach("btnDeleteSkill", async () => {
 
 /* ---------------- Auto Refresh ---------------- */
 
+// Skill changes are pushed over Server-Sent Events. EventSource cannot send an
+// Authorization header, so the stream is read with fetch. Polling stays as the
+// fallback when the stream cannot be opened.
+const startPolling = () => {
+  if (!state.autoRefreshId) {
+    state.autoRefreshId = setInterval(fetchSkills, 5000);
+  }
+};
+
+const stopAutoRefresh = () => {
+  clearInterval(state.autoRefreshId);
+  state.autoRefreshId = null;
+  if (state.stream) state.stream.abort();
+  state.stream = null;
+};
+
+const openSkillStream = async () => {
+  const userId = els.skillUserId.value.trim();
+  if (!userId) return startPolling();
+
+  const controller = new AbortController();
+  state.stream = controller;
+
+  try {
+    const auth = bearerHeader() || authHeader();
+    const response = await fetch(
+      `${baseUrl()}/skill-tracker/skill/stream/${userId}`,
+      {
+        headers: {
+          Accept: "text/event-stream",
+          ...(auth ? { Authorization: auth } : {}),
+        },
+        signal: controller.signal,
+      }
+    );
+    if (!response.ok || !response.body) throw new Error(`${response.status}`);
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = "";
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) break;
+      buffer += value;
+      const frames = buffer.split("\n\n");
+      buffer = frames.pop();
+      // Comment-only frames are heartbeats; anything with an event name is a change
+      if (frames.some((frame) => frame.includes("event:"))) fetchSkills();
+    }
+  } catch (e) {
+    if (controller.signal.aborted) return;
+    setOutput("Skill Stream", `Falling back to polling (${e.message})`);
+    return startPolling();
+  }
+
+  // Server closed the stream (timeout or eviction): reconnect shortly
+  if (state.stream === controller) {
+    setTimeout(() => {
+      if (state.stream === controller) openSkillStream();
+    }, 1000);
+  }
+};
+
 els.autoRefresh.addEventListener("change", () => {
   if (els.autoRefresh.checked) {
-    if (!state.autoRefreshId) {
-      state.autoRefreshId = setInterval(fetchSkills, 5000);
-    }
+    if (!state.stream && !state.autoRefreshId) openSkillStream();
     fetchSkills();
   } else {
-    clearInterval(state.autoRefreshId);
-    state.autoRefreshId = null;
+    stopAutoRefresh();
   }
 });
@@ -0,0 +1,63 @@
+package com.example.skilltracker;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Replaces the Atlas connection with an in-process Mongo wire-protocol server so Spring
+ * contexts start offline. Every command the driver sends is recorded by {@link MongoCommandCounter}.
+ * Settings customizers (the pool configuration, test latency injection) are applied as in production.
+ * Benchmarks that need real index behaviour can point the clients at a running server with
+ * {@code -Dskilltracker.test.mongo-uri=mongodb://...}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class EmbeddedMongoConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    MongoServer mongoServer() {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        server.bind();
+        return server;
+    }
+
+    @Bean
+    MongoCommandCounter mongoCommandCounter() {
+        return new MongoCommandCounter();
+    }
+
+    @Bean(destroyMethod = "close")
+    MongoClient mongoClient(MongoServer mongoServer, MongoCommandCounter mongoCommandCounter,
+                            ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        return MongoClients.create(settings(mongoServer, mongoCommandCounter, customizers));
+    }
+
+    // Used by the reactive repositories; points at the same in-process server
+    @Bean(destroyMethod = "close")
+    com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient(
+            MongoServer mongoServer, MongoCommandCounter mongoCommandCounter,
+            ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        return com.mongodb.reactivestreams.client.MongoClients.create(settings(mongoServer, mongoCommandCounter, customizers));
+    }
+
+    // Only the application's customizers: Boot's own would apply the Atlas URI from application.properties,
+    // and its Netty transport customizer owns a single event loop group that cannot be shared by two clients
+    private static MongoClientSettings settings(MongoServer mongoServer, MongoCommandCounter mongoCommandCounter,
+                                                ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        String uri = System.getProperty("skilltracker.test.mongo-uri", mongoServer.getConnectionString());
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(mongoCommandCounter);
+        customizers.orderedStream()
+                .filter(customizer -> !customizer.getClass().getName().startsWith("org.springframework.boot."))
+                .forEach(customizer -> customizer.customize(settings));
+        return settings.build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.skilltracker;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonValue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the name and target collection of every command the Mongo driver starts.
+ */
+public class MongoCommandCounter implements CommandListener {
+
+    private final List<String> commands = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String name = event.getCommandName();
+        BsonValue target = event.getCommand().get(name);
+        commands.add(target != null && target.isString() ? name + ":" + target.asString().getValue() : name);
+    }
+
+    public void reset() {
+        commands.clear();
+    }
+
+    public List<String> getCommands() {
+        return List.copyOf(commands);
+    }
+
+    public int count() {
+        return commands.size();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.skilltracker.benchmark;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams every user through the admin NDJSON export over real HTTP and samples the server's
+ * heap as the export progresses; it should stay level however many users there are.
+ * The in-process Mongo shares the heap and builds its cursor's whole result up front, so growth is
+ * measured from the first sample taken mid-export rather than from before the request.
+ * Run with {@code mvn test -Pbenchmark}; size it with {@code -Dskilltracker.bench.users=...}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(EmbeddedMongoConfiguration.class)
+class AdminUserExportLoadTest {
+
+    private static final int USERS = Integer.getInteger("skilltracker.bench.users", 500_000);
+    private static final int BATCH = 10_000;
+    private static final int SAMPLES = 5;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void exportMemoryStaysFlat() throws Exception {
+        mongoTemplate.dropCollection(User.class);
+        User admin = null;
+        List<User> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setId(new ObjectId());
+            user.setUsername("export-" + i);
+            user.setPassword("$2a$10$abcdefghijklmnopqrstuuJ1vS3u0ZCOuIRjKd2NymqxGMQfWNr.K");
+            user.setRoles(List.of(i == 0 ? "ROLE_ADMIN" : "ROLE_USER"));
+            batch.add(user);
+            if (batch.size() == BATCH || i == USERS - 1) {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class).insert(batch).execute();
+                admin = admin == null ? batch.get(0) : admin;
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+
+        long baseline = usedHeapAfterGc();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/skill-tracker/admin/users"))
+                .header("Authorization", "Bearer " + tokenService.issue(admin)).build();
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        long lines = 0;
+        long first = 0;
+        long peak = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                assertFalse(line.contains("password"));
+                lines++;
+                // Pausing the reader here also stalls the server, so the sample sees the export mid-flight
+                if (lines % (USERS / SAMPLES) == 0) {
+                    long used = usedHeapAfterGc();
+                    first = first == 0 ? used : first;
+                    peak = Math.max(peak, used);
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("user-export users=%d lines=%d time=%.1fs rate=%.0f/s heap baseline=%dMB first-sample=%dMB peak=%dMB%n",
+                USERS, lines, seconds, lines / seconds, baseline >> 20, first >> 20, peak >> 20);
+        assertEquals(USERS, lines);
+        assertTrue(peak < first + (32 << 20), "heap grew during the export from " + first + " to " + peak);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.skilltracker.benchmark;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares requests per second for HTTP Basic and signed bearer tokens on an authenticated endpoint.
+ * The credential cache is switched off so Basic pays for the user lookup and BCrypt check every time,
+ * and the login rate limit with it, since every one of those requests would otherwise be charged.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"skilltracker.security.credential-cache.max-entries=0", "skilltracker.ratelimit.enabled=false"})
+@AutoConfigureMockMvc
+@Import(EmbeddedMongoConfiguration.class)
+class AuthModeBenchmarkTest {
+
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(new ObjectId());
+        user.setUsername("bench");
+        user.setPassword(passwordEncoder.encode("secret"));
+        user.setRoles(List.of("ROLE_USER"));
+        when(userRepository.findUserByUsername("bench")).thenReturn(user);
+        when(userRepository.findById(any())).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void compareBasicAndBearer() throws Exception {
+        String basic = "Basic " + Base64.getEncoder().encodeToString("bench:secret".getBytes(StandardCharsets.UTF_8));
+        String token = mockMvc.perform(get("/skill-tracker/login").header(HttpHeaders.AUTHORIZATION, basic))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("X-Auth-Token");
+        String bearer = "Bearer " + token;
+
+        double basicRps = measure(basic);
+        double bearerRps = measure(bearer);
+
+        System.out.printf("auth-benchmark basic=%.1f req/s bearer=%.1f req/s speedup=%.1fx%n",
+                basicRps, bearerRps, bearerRps / basicRps);
+    }
+
+    private double measure(String authorization) throws Exception {
+        run(authorization, WARMUP_MILLIS);
+        return run(authorization, MEASURE_MILLIS) * 1000.0 / MEASURE_MILLIS;
+    }
+
+    private long run(String authorization, long millis) throws Exception {
+        long deadline = System.currentTimeMillis() + millis;
+        long requests = 0;
+        while (System.currentTimeMillis() < deadline) {
+            mockMvc.perform(get("/skill-tracker/login").header(HttpHeaders.AUTHORIZATION, authorization))
+                    .andExpect(status().isOk());
+            requests++;
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.skilltracker.benchmark;
+
+/**
+ * Baseline: Tomcat's default pool of 200 platform threads, each held for the whole Mongo round trip.
+ */
+class PlatformThreadLoadTest extends ThreadModelLoadTest {
+
+    @Override
+    String threadModel() {
+        return "platform";
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.skilltracker.benchmark;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.MongoCommandCounter;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillMatchPage;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.SkillRepository;
+import com.example.skilltracker.service.SkillSearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds a million skills spread over 10k users and times prefix searches plus paging through
+ * their results, checking that each page costs one skills query and one owner lookup.
+ * The in-process Mongo ignores non-unique indexes, so for representative latencies run it
+ * against a disposable server: {@code mvn test -Pbenchmark -Dtest=SkillSearchBenchmarkTest
+ * -Dskilltracker.test.mongo-uri=mongodb://localhost/skilltracker-bench}. Shrink the data set
+ * with {@code -Dskilltracker.bench.skills=...}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(EmbeddedMongoConfiguration.class)
+class SkillSearchBenchmarkTest {
+
+    private static final int SKILLS = Integer.getInteger("skilltracker.bench.skills", 1_000_000);
+    private static final int USERS = 10_000;
+    private static final int BATCH = 10_000;
+    private static final int SEARCHES = 50;
+    private static final int PAGES = 5;
+    private static final String[] WORDS = {"java", "javascript", "kotlin", "kubernetes", "python", "pytorch",
+            "postgres", "react", "redis", "rust", "scala", "spring", "sql", "swift", "terraform", "typescript"};
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private SkillSearchService skillSearchService;
+    @Autowired
+    private MongoCommandCounter commandCounter;
+
+    @Test
+    void prefixSearchOverAMillionSkills() {
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("search-bench-" + i);
+            user.setPassword("unused");
+            user.setRoles(List.of("ROLE_USER"));
+            users.add(user);
+        }
+        users = new ArrayList<>(mongoTemplate.insertAll(users));
+        List<Object> userIds = users.stream().map(user -> (Object) user.getId()).toList();
+        try {
+            long seedStart = System.nanoTime();
+            List<Skill> batch = new ArrayList<>(BATCH);
+            for (int i = 0; i < SKILLS; i++) {
+                String name = WORDS[random.nextInt(WORDS.length)] + " " + Integer.toString(random.nextInt(100_000), 36);
+                batch.add(new Skill(null, name, Proficiency.INTERMEDIATE, users.get(random.nextInt(USERS)).getId()));
+                if (batch.size() == BATCH || i == SKILLS - 1) {
+                    assertTrue(skillRepository.insertBatch(batch).isEmpty());
+                    batch = new ArrayList<>(BATCH);
+                }
+            }
+            double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+
+            long[] firstPage = new long[SEARCHES];
+            long[] laterPage = new long[SEARCHES * (PAGES - 1)];
+            int later = 0;
+            for (int s = 0; s < SEARCHES; s++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                String prefix = word.substring(0, 2 + random.nextInt(word.length() - 1)).toUpperCase();
+                String cursor = null;
+                for (int p = 0; p < PAGES; p++) {
+                    commandCounter.reset();
+                    long start = System.nanoTime();
+                    SkillMatchPage page = skillSearchService.search(prefix, null, 50, cursor);
+                    long elapsed = System.nanoTime() - start;
+                    if (p == 0) {
+                        firstPage[s] = elapsed;
+                    } else {
+                        laterPage[later++] = elapsed;
+                    }
+                    assertFalse(page.getItems().isEmpty());
+                    assertTrue(page.getItems().size() <= 50);
+                    page.getItems().forEach(match -> {
+                        assertTrue(match.getSkill().getNameLower().startsWith(prefix.toLowerCase()));
+                        assertNotNull(match.getOwner());
+                    });
+                    assertEquals(List.of("find:skills", "find:users"), commandCounter.getCommands());
+                    cursor = page.getNextCursor();
+                    if (cursor == null) {
+                        break;
+                    }
+                }
+            }
+            long[] laterSorted = Arrays.copyOf(laterPage, later);
+            Arrays.sort(firstPage);
+            Arrays.sort(laterSorted);
+            System.out.printf("skill-search skills=%d users=%d seed=%.1fs first-page p50=%.1fms p99=%.1fms "
+                            + "next-page p50=%.1fms p99=%.1fms%n",
+                    SKILLS, USERS, seedSeconds, millis(firstPage, 0.50), millis(firstPage, 0.99),
+                    millis(laterSorted, 0.50), millis(laterSorted, 0.99));
+        } finally {
+            mongoTemplate.remove(Query.query(Criteria.where("userId").in(userIds)), Skill.class);
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(userIds)), User.class);
+        }
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.skilltracker.benchmark;
+
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.similarity.SkillSimilarityIndex;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads the similarity index with a million users holding about ten skills each out of a
+ * catalog of a few thousand, with popularity skewed so a handful of skills are held by most
+ * users, and times similar-user and expert queries against it. Needs no Mongo:
+ * {@code mvn test -Pbenchmark -Dtest=SkillSimilarityBenchmarkTest}; shrink the data set with
+ * {@code -Dskilltracker.bench.users=...}.
+ */
+@Tag("benchmark")
+class SkillSimilarityBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("skilltracker.bench.users", 1_000_000);
+    private static final int CATALOG = 5_000;
+    private static final int SKILLS_PER_USER = 10;
+    private static final int QUERIES = 50;
+    private static final int WARMUP = 20;
+    private static final Proficiency[] LEVELS = Proficiency.values();
+
+    @Test
+    void topKOverAMillionUsers() {
+        Random random = new Random(42);
+        SkillSimilarityIndex index = new SkillSimilarityIndex();
+        ObjectId[] users = new ObjectId[USERS];
+        long loadStart = System.nanoTime();
+        for (int u = 0; u < USERS; u++) {
+            users[u] = new ObjectId();
+            int count = 1 + random.nextInt(SKILLS_PER_USER * 2);
+            for (int s = 0; s < count; s++) {
+                index.put(users[u], new ObjectId(), "skill-" + skewed(random), LEVELS[random.nextInt(LEVELS.length)]);
+            }
+        }
+        double loadSeconds = (System.nanoTime() - loadStart) / 1e9;
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heap = runtime.totalMemory() - runtime.freeMemory();
+
+        for (int q = 0; q < WARMUP; q++) {
+            ObjectId user = users[random.nextInt(USERS)];
+            index.similar(user, 10, q % 2 == 0);
+            index.experts(List.of("skill-" + skewed(random)), 10);
+        }
+        long[] jaccard = new long[QUERIES];
+        long[] weighted = new long[QUERIES];
+        long[] experts = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            ObjectId user = users[random.nextInt(USERS)];
+            long start = System.nanoTime();
+            List<SkillSimilarityIndex.Match> matches = index.similar(user, 10, false);
+            jaccard[q] = System.nanoTime() - start;
+            assertEquals(10, matches.size());
+
+            start = System.nanoTime();
+            index.similar(user, 10, true);
+            weighted[q] = System.nanoTime() - start;
+
+            List<String> wanted = List.of("skill-" + skewed(random), "skill-" + skewed(random), "skill-" + skewed(random));
+            start = System.nanoTime();
+            matches = index.experts(wanted, 10);
+            experts[q] = System.nanoTime() - start;
+            assertFalse(matches.isEmpty());
+        }
+        Arrays.sort(jaccard);
+        Arrays.sort(weighted);
+        Arrays.sort(experts);
+        System.out.printf("skill-similarity users=%d skills=%d load=%.1fs heap=%dMB bitmaps=%dMB cores=%d "
+                        + "jaccard p50=%.1fms p99=%.1fms weighted p50=%.1fms p99=%.1fms experts p50=%.1fms p99=%.1fms%n",
+                USERS, index.skillCount(), loadSeconds, heap >> 20, index.bitmapBytes() >> 20,
+                runtime.availableProcessors(), millis(jaccard, 0.50), millis(jaccard, 0.99),
+                millis(weighted, 0.50), millis(weighted, 0.99), millis(experts, 0.50), millis(experts, 0.99));
+    }
+
+    // Roughly Zipf-like: low skill numbers are far more common than high ones
+    private static int skewed(Random random) {
+        return (int) Math.floor(Math.pow(CATALOG, random.nextDouble())) - 1;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+}
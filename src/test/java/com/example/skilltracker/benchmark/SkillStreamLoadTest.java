@@ -0,0 +1,145 @@
+package com.example.skilltracker.benchmark;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import com.example.skilltracker.service.SkillEventBus;
+import com.example.skilltracker.service.SkillService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opens 5k concurrent skill streams over real HTTP, pushes a series of change events through
+ * them and checks that heap use stays flat while every subscriber keeps receiving.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"skilltracker.stream.heartbeat-seconds=2", "server.tomcat.accept-count=1000"})
+@Import(EmbeddedMongoConfiguration.class)
+class SkillStreamLoadTest {
+
+    private static final int SUBSCRIBERS = 5_000;
+    private static final int USERS = 500;
+    private static final int ROUNDS = 20;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private SkillService skillService;
+    @Autowired
+    private SkillEventBus skillEventBus;
+
+    @Test
+    void fiveThousandIdleSubscribersUseSteadyMemory() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("user-" + i);
+            user.setRoles(List.of("ROLE_USER"));
+            users.add(mongoTemplate.insert(user));
+        }
+
+        long baseline = usedHeapAfterGc();
+        HttpClient client = HttpClient.newHttpClient();
+        LongAdder events = new LongAdder();
+        List<CompletableFuture<HttpResponse<Void>>> streams = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            User user = users.get(i % USERS);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/skill-tracker/skill/stream/" + user.getId()))
+                    .header("Authorization", "Bearer " + tokenService.issue(user)).build();
+            streams.add(client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new CountingSubscriber(events))));
+            if (i % 250 == 249) {
+                waitForSubscribers(i + 1);
+            }
+        }
+        waitForSubscribers(SUBSCRIBERS);
+        long connected = usedHeapAfterGc();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (User user : users) {
+                skillService.saveSkill(user.getId(), new Skill(null, "skill-" + round, Proficiency.BEGINNER, null));
+            }
+        }
+        long expected = (long) SUBSCRIBERS * ROUNDS;
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (events.sum() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        Thread.sleep(5_000); // let a few heartbeats go through as well
+        long afterEvents = usedHeapAfterGc();
+
+        System.out.printf("stream-load subscribers=%d events=%d heap baseline=%dMB connected=%dMB after-events=%dMB "
+                        + "per-subscriber=%dB evictions=%d%n",
+                skillEventBus.getSubscriberCount(), events.sum(), baseline >> 20, connected >> 20, afterEvents >> 20,
+                (connected - baseline) / SUBSCRIBERS, skillEventBus.getEvictionCount());
+
+        assertEquals(SUBSCRIBERS, skillEventBus.getSubscriberCount());
+        assertTrue(events.sum() >= expected, "events delivered: " + events.sum());
+        assertTrue(afterEvents < connected * 1.25 + (16 << 20), "heap grew from " + connected + " to " + afterEvents);
+        streams.forEach(stream -> stream.cancel(true));
+    }
+
+    private void waitForSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (skillEventBus.getSubscriberCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Counts event lines without keeping them, so the client side holds no growing state
+    private record CountingSubscriber(LongAdder events) implements Flow.Subscriber<String> {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                events.increment();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
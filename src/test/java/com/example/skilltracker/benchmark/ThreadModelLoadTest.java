@@ -0,0 +1,145 @@
+package com.example.skilltracker.benchmark;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives 2k concurrent clients at the skill list over real HTTP while every Mongo command is
+ * delayed to stand in for an Atlas round trip, and reports p50/p99 latency. Subclasses pick the
+ * thread model; the caches are off so every request really reaches the repositories.
+ * Run with {@code mvn test -Pbenchmark} (the virtual-thread variant needs Java 21).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"skilltracker.cache.users.max-entries=0", "skilltracker.cache.skills.max-entries=0",
+                "server.tomcat.accept-count=4000", "skilltracker.mongo.pool.max-size=1000",
+                "skilltracker.mongo.pool.max-connecting=32", "skilltracker.mongo.pool.max-wait-ms=60000",
+                "logging.level.org.springframework.security=INFO"})
+@Import({EmbeddedMongoConfiguration.class, ThreadModelLoadTest.SlowNetwork.class})
+abstract class ThreadModelLoadTest {
+
+    static final long MONGO_LATENCY_MILLIS = 20;
+    private static final int CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int USERS = 200;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TokenService tokenService;
+
+    abstract String threadModel();
+
+    @Test
+    void reportLatencyAtTwoThousandConcurrentClients() throws Exception {
+        List<HttpRequest> requests = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("load-" + i);
+            user.setRoles(List.of("ROLE_USER"));
+            user = mongoTemplate.insert(user);
+            for (int s = 0; s < 5; s++) {
+                mongoTemplate.insert(new Skill(null, "skill-" + s, Proficiency.INTERMEDIATE, user.getId()));
+            }
+            requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/skill-tracker/skill/id/" + user.getId()))
+                    .header("Authorization", "Bearer " + tokenService.issue(user))
+                    .timeout(Duration.ofSeconds(60)).build());
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        run(client, requests, new AtomicLongArray(CLIENTS), 1); // warm-up: opens every connection once
+        AtomicLongArray latencies = new AtomicLongArray(CLIENTS * REQUESTS_PER_CLIENT);
+        AtomicInteger failures = run(client, requests, latencies, REQUESTS_PER_CLIENT);
+
+        long[] sorted = new long[latencies.length()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        System.out.printf("thread-model=%s clients=%d requests=%d mongo-latency=%dms p50=%.1fms p99=%.1fms max=%.1fms%n",
+                threadModel(), CLIENTS, sorted.length, MONGO_LATENCY_MILLIS, millis(sorted, 0.50), millis(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e6);
+        assertEquals(0, failures.get());
+    }
+
+    // Each client sends its requests back to back; all clients run at once
+    private static AtomicInteger run(HttpClient client, List<HttpRequest> requests, AtomicLongArray latencies,
+                                     int perClient) {
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            HttpRequest request = requests.get(c % requests.size());
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int r = 0; r < perClient; r++) {
+                int slot = c * perClient + r;
+                chain = chain.thenCompose(ignored -> {
+                    long start = System.nanoTime();
+                    return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .handle((response, error) -> {
+                                latencies.set(slot, System.nanoTime() - start);
+                                if (error != null || response.statusCode() != 200) {
+                                    failures.incrementAndGet();
+                                }
+                                return null;
+                            });
+                });
+            }
+            clients.add(chain);
+        }
+        CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+        return failures;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    // Every command waits on the calling thread before it is sent, like a slow network would
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SlowNetwork {
+        @Bean
+        MongoClientSettingsBuilderCustomizer slowNetwork() {
+            return builder -> builder.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    try {
+                        Thread.sleep(MONGO_LATENCY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.skilltracker.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The "virtual" profile: every request on its own virtual thread, bounded only by the Mongo pool.
+ */
+@ActiveProfiles("virtual")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadTest extends ThreadModelLoadTest {
+
+    @Override
+    String threadModel() {
+        return "virtual";
+    }
+}
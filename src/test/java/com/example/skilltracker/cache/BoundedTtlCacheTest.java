@@ -0,0 +1,131 @@
+package com.example.skilltracker.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    private AtomicLong now;
+    private BoundedTtlCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        cache = new BoundedTtlCache<>(10, 1, TimeUnit.SECONDS, now::get);
+    }
+
+    @Test
+    void testHitAndMissAreCounted() {
+        assertNull(cache.get("a"));
+        cache.put("a", "1");
+
+        assertEquals("1", cache.get("a"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testEntryExpiresAfterTtl() {
+        cache.put("a", "1");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void testSizeNeverExceedsLimit() {
+        for (int i = 0; i < 100; i++) {
+            cache.put("k" + i, "v" + i);
+        }
+
+        assertTrue(cache.size() <= 10);
+        assertEquals("v99", cache.get("k99"));
+    }
+
+    @Test
+    void testInvalidateIfRemovesMatchingValues() {
+        cache.put("a", "keep");
+        cache.put("b", "drop");
+
+        cache.invalidateIf((k, v) -> v.equals("drop"));
+
+        assertEquals("keep", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void testZeroSizeDisablesCache() {
+        BoundedTtlCache<String, String> disabled = new BoundedTtlCache<>(0, 1, TimeUnit.SECONDS, now::get);
+        disabled.put("a", "1");
+
+        assertNull(disabled.get("a"));
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    void testReadThroughLoadsOnceAndSkipsNulls() {
+        AtomicLong loads = new AtomicLong();
+
+        assertEquals("v", cache.get("a", k -> { loads.incrementAndGet(); return "v"; }));
+        assertEquals("v", cache.get("a", k -> { loads.incrementAndGet(); return "v"; }));
+        assertNull(cache.get("b", k -> null));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotCached() {
+        String loaded = cache.get("a", k -> {
+            cache.invalidate("a"); // a write lands while the load is in flight
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void testAsynchronousLoadRacingAnInvalidationIsNotCached() {
+        long generation = cache.generation("a");
+        cache.invalidateIf((k, v) -> true);
+        cache.putUnlessInvalidatedSince("a", "stale", generation);
+        assertNull(cache.get("a"));
+
+        generation = cache.generation("a");
+        cache.invalidate("a");
+        cache.putUnlessInvalidatedSince("a", "stale", generation);
+        assertNull(cache.get("a"));
+
+        cache.putUnlessInvalidatedSince("a", "fresh", cache.generation("a"));
+        assertEquals("fresh", cache.get("a"));
+    }
+
+    @Test
+    void testInvalidatingOneKeyKeepsLoadsOfOthers() {
+        long generation = cache.generation("a");
+        cache.invalidate("b");
+        cache.putUnlessInvalidatedSince("a", "loaded", generation);
+        assertEquals("loaded", cache.get("a"));
+    }
+
+    @Test
+    void testInvalidationRacingPutsNeverLeavesAStaleValue() throws Exception {
+        // Whichever of the put and the invalidation runs first, the value read before the invalidation is gone after it
+        for (int round = 0; round < 2000; round++) {
+            long generation = cache.generation("a");
+            Thread loader = new Thread(() -> cache.putUnlessInvalidatedSince("a", "stale", generation));
+            loader.start();
+            cache.invalidate("a");
+            loader.join();
+            assertNull(cache.get("a"), "round " + round);
+        }
+    }
+}
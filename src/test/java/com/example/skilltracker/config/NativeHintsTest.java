@@ -0,0 +1,27 @@
+package com.example.skilltracker.config;
+
+import com.example.skilltracker.model.BulkImportResult;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsTest {
+
+    @Test
+    void testModelsAreReflectivelyBindable() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Skill.class.getMethod("getName")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(User.class.getMethod("setUsername", String.class)).test(hints));
+        // Nested types are reached through the accessors
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BulkImportResult.ItemError.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ObjectIdSerializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
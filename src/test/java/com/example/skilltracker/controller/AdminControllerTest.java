@@ -0,0 +1,134 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.MongoCommandCounter;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import com.example.skilltracker.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(EmbeddedMongoConfiguration.class)
+class AdminControllerTest {
+
+    private static final int USER_COUNT = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoCommandCounter commandCounter;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<User> users;
+    private String admin;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setUsername("user-" + i);
+            user.setPassword("$2a$10$hash");
+            user.setRoles(List.of(i == 0 ? "ROLE_ADMIN" : "ROLE_USER"));
+            users.add(mongoTemplate.insert(user));
+        }
+        admin = "Bearer " + tokenService.issue(users.get(0));
+        // Bearer requests check the account through the user cache; load it now so query counts cover the endpoint only
+        userService.getUserById(users.get(0).getId());
+        mongoTemplate.insertAll(List.of(
+                new Skill(null, "Java", Proficiency.EXPERT, users.get(3).getId()),
+                new Skill(null, "Go", null, users.get(3).getId())));
+    }
+
+    private List<JsonNode> export(String query) throws Exception {
+        MvcResult started = mockMvc.perform(get("/skill-tracker/admin/users" + query).header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isOk())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getContentAsString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Test
+    void testExportStreamsEveryUserWithoutSecretsOrSkills() throws Exception {
+        List<JsonNode> lines = export("");
+
+        assertEquals(USER_COUNT, lines.size());
+        for (int i = 0; i < USER_COUNT; i++) {
+            assertEquals(users.get(i).getId().toHexString(), lines.get(i).get("id").asText());
+            assertEquals("user-" + i, lines.get(i).get("username").asText());
+            assertFalse(lines.get(i).has("password"));
+            assertFalse(lines.get(i).has("skills"));
+        }
+    }
+
+    @Test
+    void testKeysetPagesCoverEveryUserOnce() throws Exception {
+        List<String> ids = new ArrayList<>();
+        String after = null;
+        while (true) {
+            List<JsonNode> page = export("?limit=10" + (after == null ? "" : "&after=" + after));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(line -> ids.add(line.get("id").asText()));
+            after = page.get(page.size() - 1).get("id").asText();
+        }
+        assertEquals(users.stream().map(user -> user.getId().toHexString()).toList(), ids);
+    }
+
+    @Test
+    void testProjectionAndSkillsInOneQueryPerBatch() throws Exception {
+        commandCounter.reset();
+        List<JsonNode> lines = export("?fields=username&skills=true");
+
+        assertEquals(List.of("find:users", "find:skills"), commandCounter.getCommands());
+        assertFalse(lines.get(0).has("roles"));
+        assertEquals(0, lines.get(0).get("skills").size());
+        assertEquals(2, lines.get(3).get("skills").size());
+        assertEquals("Expert", lines.get(3).get("skills").get(0).get("proficiency").asText());
+    }
+
+    @Test
+    void testExportIsForAdminsOnly() throws Exception {
+        mockMvc.perform(get("/skill-tracker/admin/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(users.get(1))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/skill-tracker/admin/users?fields=password").header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isBadRequest());
+    }
+}
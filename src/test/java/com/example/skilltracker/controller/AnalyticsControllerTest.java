@@ -0,0 +1,252 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillAnalytics;
+import com.example.skilltracker.model.SkillRollup;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import com.example.skilltracker.service.ExpertFinderService;
+import com.example.skilltracker.service.SkillAnalyticsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "skilltracker.analytics.refresh-seconds=0")
+@AutoConfigureMockMvc
+@Import(EmbeddedMongoConfiguration.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private SkillAnalyticsService skillAnalyticsService;
+    @Autowired
+    private ExpertFinderService expertFinderService;
+
+    private User alice;
+    private User bob;
+    private String manager;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        mongoTemplate.dropCollection(SkillRollup.class);
+        alice = insertUser("alice", "ROLE_USER");
+        bob = insertUser("bob", "ROLE_USER");
+        manager = "Bearer " + tokenService.issue(insertUser("manager", "ROLE_USER", "ROLE_MANAGER"));
+    }
+
+    private User insertUser(String username, String... roles) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("unused");
+        user.setRoles(List.of(roles));
+        return mongoTemplate.insert(user);
+    }
+
+    private String createSkill(User user, String name, String proficiency) throws Exception {
+        mockMvc.perform(post("/skill-tracker/skill/id/{id}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"proficiency\":\"" + proficiency + "\"}"))
+                .andExpect(status().isCreated());
+        return mongoTemplate.findOne(query(
+                where("name").is(name)
+                        .and("userId").is(user.getId())), Skill.class).getId().toHexString();
+    }
+
+    // Rollups are incremented off the request thread
+    private JsonNode awaitAnalytics(Predicate<JsonNode> condition) throws Exception {
+        JsonNode analytics = null;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = mockMvc.perform(get("/skill-tracker/analytics").header(HttpHeaders.AUTHORIZATION, manager))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            analytics = objectMapper.readTree(body);
+            if (condition.test(analytics)) {
+                return analytics;
+            }
+            Thread.sleep(50);
+        }
+        fail("Analytics never reached the expected state: " + analytics);
+        return analytics;
+    }
+
+    @Test
+    void testWritesMoveRollupsIncrementally() throws Exception {
+        String javaId = createSkill(alice, "Java", "expert");
+        createSkill(alice, "Go", "Beginner");
+        createSkill(bob, "java", "Beginner");
+
+        JsonNode analytics = awaitAnalytics(a -> a.get("totalSkills").asLong() == 3);
+        assertEquals(2, analytics.get("usersWithSkills").asLong());
+        assertEquals(3, analytics.get("totalUsers").asLong());
+        assertEquals(2, analytics.get("byProficiency").get("Beginner").asLong());
+        assertEquals(1, analytics.get("byProficiency").get("Expert").asLong());
+        JsonNode top = analytics.get("topSkills").get(0);
+        assertEquals("java", top.get("name").asText().toLowerCase());
+        assertEquals(2, top.get("total").asLong());
+
+        String aliceToken = "Bearer " + tokenService.issue(alice);
+        mockMvc.perform(put("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", alice.getId(), javaId)
+                        .header(HttpHeaders.AUTHORIZATION, aliceToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"proficiency\":\"Intermediate\"}"))
+                .andExpect(status().is2xxSuccessful());
+        analytics = awaitAnalytics(a -> a.get("byProficiency").get("Intermediate").asLong() == 1);
+        assertEquals(0, analytics.get("byProficiency").get("Expert").asLong());
+        assertEquals(3, analytics.get("totalSkills").asLong());
+
+        mockMvc.perform(delete("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", alice.getId(), javaId)
+                        .header(HttpHeaders.AUTHORIZATION, aliceToken))
+                .andExpect(status().is2xxSuccessful());
+        String goId = mongoTemplate.findOne(query(
+                where("name").is("Go")), Skill.class).getId().toHexString();
+        mockMvc.perform(delete("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", alice.getId(), goId)
+                        .header(HttpHeaders.AUTHORIZATION, aliceToken))
+                .andExpect(status().is2xxSuccessful());
+        analytics = awaitAnalytics(a -> a.get("totalSkills").asLong() == 1);
+        assertEquals(1, analytics.get("usersWithSkills").asLong());
+    }
+
+    @Test
+    void testRebuildMatchesIncrementalRollupsAndNormalizesLegacyValues() throws Exception {
+        createSkill(alice, "Java", "Expert");
+        createSkill(alice, "Kotlin", "Advanced");
+        createSkill(bob, "JAVA", "novice");
+        JsonNode incremental = awaitAnalytics(a -> a.get("totalSkills").asLong() == 3);
+
+        skillAnalyticsService.rebuild();
+        SkillAnalytics rebuilt = skillAnalyticsService.getAnalytics();
+        assertEquals(incremental.get("totalSkills").asLong(), rebuilt.getTotalSkills());
+        assertEquals(incremental.get("usersWithSkills").asLong(), rebuilt.getUsersWithSkills());
+        assertEquals(incremental.get("byProficiency").toString(), objectMapper.writeValueAsString(rebuilt.getByProficiency()));
+        assertEquals(2, rebuilt.getTopSkills().get(0).getTotal());
+        // Swapped in from a staging collection, which has to bring the index along
+        assertTrue(mongoTemplate.indexOps(SkillRollup.class).getIndexInfo().stream()
+                .anyMatch(index -> index.getName().equals("kind_total_idx")));
+
+        // Free-text values written before the enum existed
+        mongoTemplate.insert(new Document("name", "SQL").append("proficiency", "beginner").append("userId", bob.getId()), "skills");
+        mongoTemplate.insert(new Document("name", "Rust").append("proficiency", "guru").append("userId", bob.getId()), "skills");
+        skillAnalyticsService.rebuild();
+        rebuilt = skillAnalyticsService.getAnalytics();
+        assertEquals(5, rebuilt.getTotalSkills());
+        assertEquals(2, rebuilt.getByProficiency().get("Beginner"));
+        assertEquals(1, rebuilt.getByProficiency().get("Unspecified"));
+        assertEquals("BEGINNER", mongoTemplate.getCollection("skills").find(new Document("name", "SQL")).first().get("proficiency"));
+
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", bob.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(bob)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void testSimilarUsersAndExpertsFollowWrites() throws Exception {
+        // Reload over this test's data once the startup load is done
+        for (int attempt = 0; attempt < 100 && !expertFinderService.isReady(); attempt++) {
+            Thread.sleep(50);
+        }
+        createSkill(alice, "Java", "Expert");
+        mongoTemplate.insert(new Skill(null, "Go", null, alice.getId()));
+        assertEquals(2, expertFinderService.rebuild());
+
+        String rustId = createSkill(bob, "Rust", "Beginner");
+        createSkill(bob, "java", "Beginner");
+        User carol = insertUser("carol", "ROLE_USER");
+        createSkill(carol, "Go", "Advanced");
+        createSkill(carol, "JAVA", "Expert");
+
+        mockMvc.perform(get("/skill-tracker/analytics/similar/{userId}", alice.getId()).header(HttpHeaders.AUTHORIZATION, manager))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].user.username").value("carol"))
+                .andExpect(jsonPath("$[0].user.password").doesNotExist())
+                .andExpect(jsonPath("$[0].score").value(1.0))
+                .andExpect(jsonPath("$[0].shared").value(2))
+                .andExpect(jsonPath("$[1].user.username").value("bob"));
+        mockMvc.perform(get("/skill-tracker/analytics/experts").param("skills", "java,go").param("limit", "2")
+                        .header(HttpHeaders.AUTHORIZATION, manager))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].user.username").value("carol"))
+                .andExpect(jsonPath("$[1].user.username").value("alice"));
+
+        // Bob drops Rust and levels Java up; then Carol's account is deleted
+        String bobToken = "Bearer " + tokenService.issue(bob);
+        mockMvc.perform(delete("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", bob.getId(), rustId)
+                        .header(HttpHeaders.AUTHORIZATION, bobToken))
+                .andExpect(status().is2xxSuccessful());
+        String bobJava = mongoTemplate.findOne(query(where("userId").is(bob.getId())), Skill.class).getId().toHexString();
+        mockMvc.perform(put("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", bob.getId(), bobJava)
+                        .header(HttpHeaders.AUTHORIZATION, bobToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"proficiency\":\"Expert\"}"))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(delete("/skill-tracker/user/id/{id}", carol.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(carol)))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/skill-tracker/analytics/similar/{userId}", alice.getId()).param("weighted", "true")
+                        .header(HttpHeaders.AUTHORIZATION, manager))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].user.username").value("bob"))
+                .andExpect(jsonPath("$[0].score").value(0.8));
+
+        mockMvc.perform(get("/skill-tracker/analytics/experts").header(HttpHeaders.AUTHORIZATION, manager))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/skill-tracker/analytics/similar/{userId}", alice.getId()).param("limit", "0")
+                        .header(HttpHeaders.AUTHORIZATION, manager))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/skill-tracker/analytics/experts").param("skills", "java")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(alice)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testUnknownProficiencyIsRejected() throws Exception {
+        mockMvc.perform(post("/skill-tracker/skill/id/{id}", alice.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(alice))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Java\",\"proficiency\":\"guru\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAnalyticsNeedManagerRole() throws Exception {
+        mockMvc.perform(get("/skill-tracker/analytics").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(alice)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/skill-tracker/analytics/rebuild").header(HttpHeaders.AUTHORIZATION, manager))
+                .andExpect(status().isForbidden());
+    }
+}
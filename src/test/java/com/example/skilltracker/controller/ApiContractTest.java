@@ -0,0 +1,133 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP-level checks that both web stacks must pass. Each subclass starts the application on a
+ * real port with one of the stacks and runs the same requests against it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(EmbeddedMongoConfiguration.class)
+abstract class ApiContractTest {
+
+    @Autowired
+    protected WebTestClient client;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Fresh name per test: the credential cache outlives the collections dropped between tests
+    protected String username;
+    private String userId;
+    private String bearer;
+
+    @BeforeEach
+    void registerAndLogIn() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        username = "carol-" + new ObjectId();
+        client.post().uri("/skill-tracker/register").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", username, "password", "secret"))
+                .exchange().expectStatus().isCreated();
+        var login = client.get().uri("/skill-tracker/login")
+                .headers(h -> h.setBasicAuth(username, "secret"))
+                .exchange().expectStatus().isOk()
+                .expectBody(String.class).returnResult();
+        userId = login.getResponseBody();
+        bearer = "Bearer " + login.getResponseHeaders().getFirst("X-Auth-Token");
+        assertNotNull(userId);
+    }
+
+    @Test
+    void testRequestsWithoutCredentialsAreRejected() {
+        client.get().uri("/skill-tracker/skill/id/{userId}", userId).exchange().expectStatus().isUnauthorized();
+        client.get().uri("/skill-tracker/login").headers(h -> h.setBasicAuth(username, "wrong"))
+                .exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testSkillLifecycle() {
+        client.post().uri("/skill-tracker/skill/id/{id}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("name", "Java", "proficiency", "Beginner"))
+                .exchange().expectStatus().isCreated();
+        client.get().uri("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange().expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Java");
+        String skillId = mongoTemplate.findAll(Skill.class).get(0).getId().toHexString();
+
+        client.put().uri("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", userId, skillId)
+                .header(HttpHeaders.AUTHORIZATION, bearer).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("proficiency", "Expert"))
+                .exchange().expectStatus().isOk();
+        client.get().uri("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$[0].name").isEqualTo("Java").jsonPath("$[0].proficiency").isEqualTo("Expert");
+
+        client.delete().uri("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", userId, skillId)
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange().expectStatus().isOk();
+        client.get().uri("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+    }
+
+    @Test
+    void testUnchangedListIsAnsweredWith304() {
+        client.post().uri("/skill-tracker/skill/id/{id}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("name", "Go", "proficiency", "Beginner"))
+                .exchange().expectStatus().isCreated();
+        String etag = client.get().uri("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange().expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        client.get().uri("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange().expectStatus().isNotModified();
+
+        client.post().uri("/skill-tracker/skill/id/{id}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("name", "Rust", "proficiency", "Beginner"))
+                .exchange().expectStatus().isCreated();
+        client.get().uri("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testUserReadAndDelete() {
+        client.post().uri("/skill-tracker/skill/id/{id}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("name", "SQL", "proficiency", "Expert"))
+                .exchange().expectStatus().isCreated();
+        client.get().uri("/skill-tracker/user/id/{id}?fields=username,skills", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange().expectStatus().isFound()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo(username)
+                .jsonPath("$.password").doesNotExist()
+                .jsonPath("$.roles").doesNotExist()
+                .jsonPath("$.skills[0].name").isEqualTo("SQL");
+
+        client.delete().uri("/skill-tracker/user/id/{id}", userId).header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange().expectStatus().isOk();
+        assertEquals(0, mongoTemplate.count(new Query(), Skill.class));
+        assertEquals(0, mongoTemplate.count(new Query(), User.class));
+    }
+}
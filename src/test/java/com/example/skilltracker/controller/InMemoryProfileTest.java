@@ -0,0 +1,93 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.repository.SkillRepository;
+import com.example.skilltracker.repository.memory.InMemorySkillRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the API on the in-memory engine, with no Mongo server or client in the context at all.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("memory")
+class InMemoryProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Test
+    void testNoMongoBeansAreCreated() {
+        assertInstanceOf(InMemorySkillRepository.class, skillRepository);
+        assertEquals(0, context.getBeanNamesForType(MongoTemplate.class).length);
+    }
+
+    @Test
+    void testSkillLifecycle() throws Exception {
+        String username = "frank-" + new ObjectId();
+        mockMvc.perform(post("/skill-tracker/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret\"}"))
+                .andExpect(status().isCreated());
+        String basic = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":secret").getBytes(StandardCharsets.UTF_8));
+        String userId = mockMvc.perform(get("/skill-tracker/login").header(HttpHeaders.AUTHORIZATION, basic))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (String name : new String[]{"Kotlin", "Kubernetes", "Java"}) {
+            mockMvc.perform(post("/skill-tracker/skill/id/{id}", userId).header(HttpHeaders.AUTHORIZATION, basic)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"" + name + "\",\"proficiency\":\"Beginner\"}"))
+                    .andExpect(status().isCreated());
+        }
+        String kotlinId = skillRepository.findByNamePrefix("kot", null, null, 10).get(0).getId().toHexString();
+
+        mockMvc.perform(put("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", userId, kotlinId)
+                        .header(HttpHeaders.AUTHORIZATION, basic).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"proficiency\":\"Expert\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, basic)
+                        .param("sort", "name").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name").value("Java"))
+                .andExpect(jsonPath("$.items[1].name").value("Kotlin"))
+                .andExpect(jsonPath("$.items[1].proficiency").value("Expert"));
+        mockMvc.perform(get("/skill-tracker/skill/search").header(HttpHeaders.AUTHORIZATION, basic).param("q", "k"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].owner.username").value(username));
+
+        mockMvc.perform(delete("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", userId, kotlinId)
+                        .header(HttpHeaders.AUTHORIZATION, basic))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, basic))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+}
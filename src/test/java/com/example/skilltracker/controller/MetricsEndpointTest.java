@@ -0,0 +1,79 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(EmbeddedMongoConfiguration.class)
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void testEndpointAndPasswordTimingsAreScraped() throws Exception {
+        User user = insertUser("metrics-user", "ROLE_USER", "ROLE_ADMIN");
+
+        String basic = basic("metrics-user");
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, basic))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/skill-tracker/skill/id/{userId}\"")))
+                .andExpect(content().string(containsString("skilltracker_auth_password_seconds_count{")))
+                .andExpect(content().string(containsString("operation=\"matches\"")))
+                .andExpect(content().string(containsString("skilltracker_cache_requests_total{")));
+    }
+
+    @Test
+    void testScrapeOnTheApplicationPortNeedsAnAdmin() throws Exception {
+        insertUser("plain-user", "ROLE_USER");
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("plain-user")))
+                .andExpect(status().isForbidden());
+    }
+
+    private User insertUser(String username, String... roles) {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordEncoder.encode("secret"));
+        user.setRoles(List.of(roles));
+        return mongoTemplate.insert(user);
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":secret").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "skilltracker.ratelimit.address.capacity=100",
+        "skilltracker.ratelimit.username.capacity=2",
+        "skilltracker.ratelimit.username.refill-per-minute=1"})
+@AutoConfigureMockMvc
+@Import(EmbeddedMongoConfiguration.class)
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        username = "dave-" + new ObjectId();
+        mockMvc.perform(post("/skill-tracker/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testRepeatedBadPasswordsAreThrottledPerUsername() throws Exception {
+        mockMvc.perform(get("/skill-tracker/login").header(HttpHeaders.AUTHORIZATION, basic(username, "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/skill-tracker/login").header(HttpHeaders.AUTHORIZATION, basic(username, "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/skill-tracker/login").header(HttpHeaders.AUTHORIZATION, basic(username, "secret")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"));
+    }
+
+    @Test
+    void testCachedCredentialsAreNotCharged() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/skill-tracker/login").header(HttpHeaders.AUTHORIZATION, basic(username, "secret")))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.model.Skill;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+/**
+ * Runs the shared API checks against the WebFlux stack selected by the "reactive" profile.
+ */
+@ActiveProfiles("reactive")
+class ReactiveApiContractTest extends ApiContractTest {
+
+    @Test
+    void testSkillListStreamsAsNdjson() {
+        String userId = client.get().uri("/skill-tracker/login").headers(h -> h.setBasicAuth(username, "secret"))
+                .exchange().expectBody(String.class).returnResult().getResponseBody();
+        String bearer = client.get().uri("/skill-tracker/login").headers(h -> h.setBasicAuth(username, "secret"))
+                .exchange().returnResult(String.class).getResponseHeaders().getFirst("X-Auth-Token");
+        for (String name : new String[]{"Java", "Go", "Rust"}) {
+            client.post().uri("/skill-tracker/skill/id/{id}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + bearer)
+                    .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("name", name, "proficiency", "Beginner"))
+                    .exchange().expectStatus().isCreated();
+        }
+
+        client.get().uri("/skill-tracker/skill/id/{userId}", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + bearer)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange().expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Skill.class).hasSize(3);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.skilltracker.controller;
+
+/**
+ * Runs the shared API checks against the default Spring MVC stack on Tomcat.
+ */
+class ServletApiContractTest extends ApiContractTest {
+}
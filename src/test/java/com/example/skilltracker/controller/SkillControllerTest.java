@@ -0,0 +1,345 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.MongoCommandCounter;
+import com.example.skilltracker.cache.SkillBodyCache;
+import com.example.skilltracker.cache.UserSkillCache;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import com.example.skilltracker.service.UserService;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(EmbeddedMongoConfiguration.class)
+class SkillControllerTest {
+
+    private static final int SKILL_COUNT = 300;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoCommandCounter commandCounter;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private SkillBodyCache skillBodyCache;
+    @Autowired
+    private UserSkillCache userSkillCache;
+
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        user = new User();
+        user.setUsername("alice");
+        user.setPassword("unused");
+        user.setRoles(List.of("ROLE_USER"));
+        mongoTemplate.insert(user);
+        bearer = "Bearer " + tokenService.issue(user);
+        // Bearer requests check the account through the user cache; load it now so query counts cover the endpoint only
+        userService.getUserById(user.getId());
+    }
+
+    @Test
+    void testSkillListIsOneQueryRegardlessOfSize() throws Exception {
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < SKILL_COUNT; i++) {
+            skills.add(new Skill(null, "skill-" + i, Proficiency.BEGINNER, user.getId()));
+        }
+        mongoTemplate.insertAll(skills);
+        commandCounter.reset();
+
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SKILL_COUNT));
+
+        assertEquals(List.of("find:users", "find:skills"), commandCounter.getCommands());
+    }
+
+    @Test
+    void testUnchangedListIsAnsweredWith304WithoutReadingSkills() throws Exception {
+        mongoTemplate.insert(new Skill(null, "Java", Proficiency.EXPERT, user.getId()));
+        String etag = mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        commandCounter.reset();
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // The version comes out of the cache, so a revalidation touches Mongo not at all
+        assertEquals(List.of(), commandCounter.getCommands());
+
+        mockMvc.perform(post("/skill-tracker/skill/id/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Go\",\"proficiency\":\"Beginner\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testRepeatedListReadsReuseTheEncodedBody() throws Exception {
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < SKILL_COUNT; i++) {
+            skills.add(new Skill(null, "skill-" + i, Proficiency.BEGINNER, user.getId()));
+        }
+        mongoTemplate.insertAll(skills);
+        byte[] plain = mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        long encodes = skillBodyCache.getEncodes();
+        commandCounter.reset();
+        var response = mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        byte[] compressed = response.getContentAsByteArray();
+        assertEquals(List.of(), commandCounter.getCommands());
+        assertEquals(encodes, skillBodyCache.getEncodes());
+        assertTrue(compressed.length < plain.length / 2);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+        // One tag for both encodings, so it has to be weak
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\""));
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/skill-tracker/skill/id/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Go\",\"proficiency\":\"Beginner\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.length()").value(SKILL_COUNT + 1));
+    }
+
+    @Test
+    void testBatchReadStreamsManyUsersWithBoundedQueries() throws Exception {
+        List<User> team = new ArrayList<>();
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            User member = new User();
+            member.setUsername("member-" + i);
+            team.add(member);
+        }
+        mongoTemplate.insertAll(team);
+        for (User member : team) {
+            skills.add(new Skill(null, "Java", Proficiency.EXPERT, member.getId()));
+            skills.add(new Skill(null, "Go", Proficiency.BEGINNER, member.getId()));
+        }
+        mongoTemplate.insertAll(skills);
+        List<String> ids = new ArrayList<>(team.stream().map(member -> member.getId().toHexString()).toList());
+        ids.add(1, new ObjectId().toHexString());
+
+        commandCounter.reset();
+        var batch = mockMvc.perform(post("/skill-tracker/skill/batch").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<String> lines = mockMvc.perform(asyncDispatch(batch)).andReturn().getResponse().getContentAsString().lines().toList();
+
+        assertEquals(250, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(team.get(0).getId().toHexString(), first.get("id").asText());
+        assertEquals("member-0", first.get("username").asText());
+        assertEquals(2, first.get("skills").size());
+        assertEquals("member-1", objectMapper.readTree(lines.get(1)).get("username").asText());
+        // Owners, the legacy-layout check, and one skills query per hundred users
+        assertEquals(List.of("find:users", "find:users", "find:skills", "find:skills", "find:skills"),
+                commandCounter.getCommands());
+
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            tooMany.add(new ObjectId().toHexString());
+        }
+        mockMvc.perform(post("/skill-tracker/skill/batch").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(tooMany)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testLegacyDbRefSkillsAreMigratedOnFirstRead() throws Exception {
+        List<Object> refs = new ArrayList<>();
+        for (int i = 0; i < SKILL_COUNT; i++) {
+            ObjectId skillId = new ObjectId();
+            mongoTemplate.insert(new Document("_id", skillId).append("name", "skill-" + i), "skills");
+            refs.add(new DBRef("skills", skillId));
+        }
+        mongoTemplate.getCollection("users").updateOne(new Document("_id", user.getId()),
+                new Document("$set", new Document("skills", refs)));
+
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SKILL_COUNT));
+
+        Document stored = mongoTemplate.getCollection("users").find(new Document("_id", user.getId())).first();
+        assertFalse(stored.containsKey("skills"));
+
+        commandCounter.reset();
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SKILL_COUNT));
+        assertEquals(List.of("find:users", "find:skills"), commandCounter.getCommands());
+    }
+
+    @Test
+    void testEmptyListLooksForLegacySkillsOnlyOnce() throws Exception {
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // As when the cached list expires
+        userSkillCache.invalidateSkills(user.getId());
+        skillBodyCache.invalidate(user.getId());
+        commandCounter.reset();
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        assertEquals(List.of("find:users", "find:skills"), commandCounter.getCommands());
+    }
+
+    @Test
+    void testUpdateOfUnknownSkillIsNotFound() throws Exception {
+        mockMvc.perform(put("/skill-tracker/skill/userId/{userId}/skillId/{skillId}", user.getId(), new ObjectId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"proficiency\":\"Expert\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCursorPagesCoverEverySkillOnceInOrder() throws Exception {
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < SKILL_COUNT; i++) {
+            // Duplicate names force the _id tie-breaker to do its job
+            skills.add(new Skill(null, "skill-" + (i % 7), i % 2 == 0 ? Proficiency.BEGINNER : null, user.getId()));
+        }
+        mongoTemplate.insertAll(skills);
+
+        Set<String> seen = new HashSet<>();
+        String previousName = "";
+        String after = null;
+        int pages = 0;
+        do {
+            var request = get("/skill-tracker/skill/id/{userId}", user.getId())
+                    .param("limit", "64").param("sort", "name").param("fields", "name")
+                    .header(HttpHeaders.AUTHORIZATION, bearer);
+            if (after != null) {
+                request.param("after", after);
+            }
+            commandCounter.reset();
+            String body = mockMvc.perform(request).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            // The version is read once and cached; every page is a single skills query
+            assertEquals(pages == 0 ? List.of("find:users", "find:skills") : List.of("find:skills"),
+                    commandCounter.getCommands());
+
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode item : page.get("items")) {
+                assertTrue(seen.add(item.get("id").asText()));
+                assertFalse(item.has("proficiency"));
+                assertTrue(item.get("name").asText().compareTo(previousName) >= 0);
+                previousName = item.get("name").asText();
+            }
+            after = page.get("nextCursor") == null || page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (after != null);
+
+        assertEquals(SKILL_COUNT, seen.size());
+        assertEquals(5, pages);
+    }
+
+    @Test
+    void testPageSizeIsCapped() throws Exception {
+        mockMvc.perform(get("/skill-tracker/skill/id/{userId}", user.getId()).param("limit", "10000")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBulkImportStreamsBatchesAndReportsBadItems() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append(i == 10 ? "{\"proficiency\":\"Beginner\"}" : i == 20 ? "{\"name\":[1,2]}" : "{\"name\":\"skill-" + i + "\"}")
+                    .append('\n');
+        }
+        commandCounter.reset();
+        mockMvc.perform(post("/skill-tracker/skill/bulk/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType("application/x-ndjson").content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1200))
+                .andExpect(jsonPath("$.imported").value(1198))
+                .andExpect(jsonPath("$.errors[0].index").value(10))
+                .andExpect(jsonPath("$.errors[1].index").value(20));
+        assertEquals(3, commandCounter.getCommands().stream().filter(c -> c.equals("insert:skills")).count());
+        // Every stored batch bumps the version, so a body cut off halfway cannot leave cached lists stale
+        assertEquals(3, commandCounter.getCommands().stream().filter(c -> c.equals("update:users")).count());
+
+        mockMvc.perform(post("/skill-tracker/skill/bulk/{userId}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("[{\"name\":\"Go\"},{\"name\":\"Rust\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        var export = mockMvc.perform(get("/skill-tracker/skill/export/{userId}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(export)).andReturn().getResponse().getContentAsString();
+        assertEquals(1200, exported.lines().count());
+        assertTrue(exported.lines().allMatch(line -> line.startsWith("{") && line.contains("\"userId\"")));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.MongoCommandCounter;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import com.example.skilltracker.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(EmbeddedMongoConfiguration.class)
+class SkillSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoCommandCounter commandCounter;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User alice;
+    private User bob;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new org.springframework.data.mongodb.core.query.Query(), User.class);
+        mongoTemplate.remove(new org.springframework.data.mongodb.core.query.Query(), Skill.class);
+        alice = insertUser("alice");
+        bob = insertUser("bob");
+        // Users without matching skills must never be read by a search
+        for (int i = 0; i < 20; i++) {
+            insertUser("idle-" + i);
+        }
+        bearer = "Bearer " + tokenService.issue(alice);
+        // Bearer requests check the account through the user cache; load it now so query counts cover the endpoint only
+        userService.getUserById(alice.getId());
+        mongoTemplate.insertAll(List.of(
+                new Skill(null, "Java", Proficiency.EXPERT, alice.getId()),
+                new Skill(null, "JavaScript", Proficiency.BEGINNER, alice.getId()),
+                new Skill(null, "java concurrency", Proficiency.INTERMEDIATE, bob.getId()),
+                new Skill(null, "Kotlin", Proficiency.BEGINNER, bob.getId()),
+                new Skill(null, "Ja", Proficiency.BEGINNER, bob.getId())));
+    }
+
+    private User insertUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setRoles(List.of("ROLE_USER"));
+        return mongoTemplate.insert(user);
+    }
+
+    private JsonNode search(String query) throws Exception {
+        String body = mockMvc.perform(get("/skill-tracker/skill/search" + query).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void testPrefixSearchIgnoresCaseAndReturnsOwners() throws Exception {
+        commandCounter.reset();
+        JsonNode page = search("?q=JAV");
+
+        List<String> names = new ArrayList<>();
+        for (JsonNode item : page.get("items")) {
+            names.add(item.get("skill").get("name").asText());
+            assertFalse(item.get("owner").has("password"));
+        }
+        assertEquals(List.of("Java", "java concurrency", "JavaScript"), names);
+        assertEquals("alice", page.get("items").get(0).get("owner").get("username").asText());
+        assertEquals("bob", page.get("items").get(1).get("owner").get("username").asText());
+        assertTrue(page.get("nextCursor").isNull());
+        // One query for the page of skills, one $in lookup for their owners
+        assertEquals(List.of("find:skills", "find:users"), commandCounter.getCommands());
+    }
+
+    @Test
+    void testPrefixSearchPagesWithCursor() throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = search("?q=ja&limit=2" + (cursor == null ? "" : "&after=" + cursor));
+            assertTrue(page.get("items").size() <= 2);
+            page.get("items").forEach(item -> names.add(item.get("skill").get("name").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(List.of("Ja", "Java", "java concurrency", "JavaScript"), names);
+    }
+
+    @Test
+    void testPrefixSearchTreatsQueryLiterally() throws Exception {
+        assertEquals(0, search("?q=.*").get("items").size());
+    }
+
+    @Test
+    void testBadSearchParametersAreRejected() throws Exception {
+        mockMvc.perform(get("/skill-tracker/skill/search").param("q", " ").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/skill-tracker/skill/search?q=ja&mode=fuzzy").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/skill-tracker/skill/search?q=ja&after=garbage").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/skill-tracker/skill/search?q=ja&limit=0").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/skill-tracker/skill/search?q=ja&limit=101").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("limit must be between 1 and 100"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(EmbeddedMongoConfiguration.class)
+class SkillStreamTest {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        user = new User();
+        user.setUsername("alice");
+        user.setRoles(List.of("ROLE_USER"));
+        mongoTemplate.insert(user);
+        bearer = "Bearer " + tokenService.issue(user);
+    }
+
+    @Test
+    void testCreatedSkillIsPushedToSubscriber() throws Exception {
+        HttpRequest subscribe = HttpRequest.newBuilder(uri("/skill-tracker/skill/stream/" + user.getId()))
+                .header("Authorization", bearer).header("Accept", "text/event-stream").build();
+        HttpResponse<InputStream> stream = client.send(subscribe, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, stream.statusCode());
+
+        CompletableFuture<String> createdEvent = CompletableFuture.supplyAsync(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream.body(), StandardCharsets.UTF_8))) {
+                String line;
+                boolean created = false;
+                while ((line = reader.readLine()) != null) {
+                    if (line.equals("event:created")) {
+                        created = true;
+                    } else if (created && line.startsWith("data:")) {
+                        return line.substring("data:".length());
+                    }
+                }
+                return null;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        HttpRequest create = HttpRequest.newBuilder(uri("/skill-tracker/skill/id/" + user.getId()))
+                .header("Authorization", bearer).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Kafka\",\"proficiency\":\"Beginner\"}"))
+                .timeout(Duration.ofSeconds(10)).build();
+        assertEquals(201, client.send(create, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        String data = createdEvent.get(10, TimeUnit.SECONDS);
+        assertTrue(data.contains("\"name\":\"Kafka\""), data);
+        stream.body().close();
+    }
+
+    @Test
+    void testStreamRequiresAuthentication() throws Exception {
+        HttpRequest subscribe = HttpRequest.newBuilder(uri("/skill-tracker/skill/stream/" + user.getId())).build();
+
+        assertEquals(401, client.send(subscribe, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.skilltracker.controller;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(EmbeddedMongoConfiguration.class)
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TokenService tokenService;
+
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        user = new User();
+        user.setUsername("alice");
+        user.setPassword("$2a$10$hash");
+        user.setRoles(List.of("ROLE_USER"));
+        mongoTemplate.insert(user);
+        mongoTemplate.insert(new Skill(null, "Java", Proficiency.EXPERT, user.getId()));
+        bearer = "Bearer " + tokenService.issue(user);
+    }
+
+    @Test
+    void testUserIsReturnedWithoutPasswordOrSkillsByDefault() throws Exception {
+        mockMvc.perform(get("/skill-tracker/user/id/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.username").value("alice"))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.skills").doesNotExist());
+    }
+
+    @Test
+    void testFieldsSelectsProjection() throws Exception {
+        mockMvc.perform(get("/skill-tracker/user/id/{id}", user.getId()).param("fields", "skills,password")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/skill-tracker/user/id/{id}", user.getId()).param("fields", "skills")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.username").doesNotExist())
+                .andExpect(jsonPath("$.skills[0].name").value("Java"));
+    }
+}
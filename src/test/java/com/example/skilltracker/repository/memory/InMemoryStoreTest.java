@@ -0,0 +1,65 @@
+package com.example.skilltracker.repository.memory;
+
+import com.example.skilltracker.config.MongoConversionsConfig;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStoreTest {
+
+    private final MongoCustomConversions conversions = new MongoConversionsConfig().mongoCustomConversions();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSnapshotRestoresDocumentsAndIndexes() throws Exception {
+        Path file = directory.resolve("data.snapshot");
+        InMemoryStore store = new InMemoryStore(conversions, file.toString(), 0);
+        InMemoryUserRepository users = new InMemoryUserRepository(store);
+        InMemorySkillRepository skills = new InMemorySkillRepository(store);
+        User user = new User();
+        user.setUsername("grace");
+        user.setRoles(List.of("ROLE_USER"));
+        users.save(user);
+        users.incrementSkillsVersion(user.getId(), 3);
+        for (int i = 0; i < 1000; i++) {
+            skills.insertSkill(new Skill(null, "Skill " + i, Proficiency.values()[i % 4], user.getId()));
+        }
+        store.snapshot();
+
+        InMemoryStore restored = new InMemoryStore(conversions, file.toString(), 0);
+        InMemoryUserRepository restoredUsers = new InMemoryUserRepository(restored);
+        InMemorySkillRepository restoredSkills = new InMemorySkillRepository(restored);
+
+        User found = restoredUsers.findUserByUsername("grace");
+        assertEquals(user.getId(), found.getId());
+        assertEquals(3, restoredUsers.findSkillsVersion(user.getId()));
+        assertEquals(1000, restoredSkills.findByUserId(user.getId()).size());
+        List<Skill> prefix = restoredSkills.findByNamePrefix("skill 99", null, null, 20);
+        assertEquals(List.of("Skill 99", "Skill 990", "Skill 991"), prefix.stream().map(Skill::getName).limit(3).toList());
+        assertEquals(Proficiency.EXPERT, restoredSkills.findByText("999", 0, 1).get(0).getProficiency());
+    }
+
+    @Test
+    void testStoredDocumentsAreNotSharedWithCallers() throws Exception {
+        InMemoryStore store = new InMemoryStore(conversions, "", 0);
+        InMemorySkillRepository skills = new InMemorySkillRepository(store);
+        Skill skill = new Skill(null, "Go", Proficiency.BEGINNER, new ObjectId());
+        skills.insertSkill(skill);
+
+        skill.setName("Rust");
+        skills.findById(skill.getId()).orElseThrow().setName("Zig");
+
+        assertEquals("Go", skills.findById(skill.getId()).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.skilltracker.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private AtomicLong now;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        // Three in a burst, then one a second
+        limiter = new TokenBucketRateLimiter(3, 60, 2, now::get);
+    }
+
+    @Test
+    void testBurstThenThrottled() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+
+        long wait = limiter.tryAcquire("a");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+        assertEquals(1, limiter.getThrottled());
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testIdleBucketsMakeRoomForNewKeys() {
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertTrue(limiter.tryAcquire("c") > 0);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(2, limiter.getEvictions());
+        assertEquals(1, limiter.size());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.skilltracker.security;
+
+import com.example.skilltracker.model.User;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(new ObjectId("507f1f77bcf86cd799439011"));
+        user.setUsername("alice:admin");
+        user.setRoles(List.of("ROLE_USER"));
+        user.setPassword("$2a$10$hash");
+    }
+
+    @Test
+    void testIssuedTokenVerifies() {
+        TokenService tokenService = new TokenService(60, "", Clock.systemUTC());
+
+        TokenService.Claims verified = tokenService.verify(tokenService.issue(user));
+
+        assertNotNull(verified);
+        assertEquals(user.getId(), verified.userId());
+        assertEquals("alice:admin", verified.username());
+        assertEquals(List.of("ROLE_USER"), verified.roles());
+        assertTrue(tokenService.isCurrent(verified, user));
+    }
+
+    @Test
+    void testPasswordChangeOrDeleteRevokesToken() {
+        TokenService tokenService = new TokenService(60, "", Clock.systemUTC());
+        TokenService.Claims claims = tokenService.verify(tokenService.issue(user));
+
+        User changed = new User();
+        changed.setId(user.getId());
+        changed.setPassword("$2a$10$other");
+        assertFalse(tokenService.isCurrent(claims, changed));
+        assertFalse(tokenService.isCurrent(claims, null));
+    }
+
+    @Test
+    void testRenewalIsDueAfterHalfTheLifetime() {
+        Instant issuedAt = Instant.parse("2024-01-01T00:00:00Z");
+        String token = new TokenService(60, "c2VjcmV0", Clock.fixed(issuedAt, ZoneOffset.UTC)).issue(user);
+
+        TokenService early = new TokenService(60, "c2VjcmV0", Clock.fixed(issuedAt.plusSeconds(20), ZoneOffset.UTC));
+        assertFalse(early.isDueForRenewal(early.verify(token)));
+        TokenService late = new TokenService(60, "c2VjcmV0", Clock.fixed(issuedAt.plusSeconds(40), ZoneOffset.UTC));
+        assertTrue(late.isDueForRenewal(late.verify(token)));
+    }
+
+    @Test
+    void testAccountIsCheckedForOneLifetimeAfterStartupOrAChange() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        MutableClock clock = new MutableClock(start);
+        TokenService tokenService = new TokenService(60, "", clock);
+        // Changes made before this node started were never seen here
+        assertTrue(tokenService.needsAccountCheck(tokenService.verify(tokenService.issue(user))));
+
+        clock.now = start.plusSeconds(60);
+        TokenService.Claims claims = tokenService.verify(tokenService.issue(user));
+        assertFalse(tokenService.needsAccountCheck(claims));
+
+        tokenService.revokeUser(user.getId());
+        assertTrue(tokenService.needsAccountCheck(claims));
+        clock.now = start.plusSeconds(120);
+        TokenService.Claims fresh = tokenService.verify(tokenService.issue(user));
+        assertFalse(tokenService.needsAccountCheck(fresh));
+
+        tokenService.revokeAll();
+        assertTrue(tokenService.needsAccountCheck(fresh));
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        TokenService tokenService = new TokenService(60, "", Clock.systemUTC());
+        String token = tokenService.issue(user);
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "AAAA";
+
+        assertNull(tokenService.verify(forged));
+        assertNull(tokenService.verify("not-a-token"));
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        Instant issuedAt = Instant.parse("2024-01-01T00:00:00Z");
+        String token = new TokenService(60, "c2VjcmV0", Clock.fixed(issuedAt, ZoneOffset.UTC)).issue(user);
+        TokenService later = new TokenService(60, "c2VjcmV0",
+                Clock.fixed(issuedAt.plus(Duration.ofSeconds(61)), ZoneOffset.UTC));
+
+        assertNull(later.verify(token));
+    }
+
+    @Test
+    void testRotationKeepsPreviousKeyOnly() {
+        TokenService tokenService = new TokenService(60, "", Clock.systemUTC());
+        String oldToken = tokenService.issue(user);
+
+        tokenService.rotateKey();
+        assertNotNull(tokenService.verify(oldToken));
+        assertNotNull(tokenService.verify(tokenService.issue(user)));
+
+        tokenService.rotateKey();
+        assertNull(tokenService.verify(oldToken));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.MongoCommandCounter;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.SkillPage;
+import com.example.skilltracker.model.User;
+import com.example.skilltracker.repository.SkillRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(EmbeddedMongoConfiguration.class)
+@RecordApplicationEvents
+class SkillServiceTest {
+
+    @Autowired
+    private SkillService skillService;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private MongoCommandCounter commandCounter;
+
+    private User user;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        user = new User();
+        user.setUsername("alice");
+        mongoTemplate.insert(user);
+    }
+
+    @Test
+    void testConcurrentWritersKeepEverySkill() throws Exception {
+        int writers = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                String name = "skill-" + i;
+                futures.add(executor.submit(() -> {
+                    Skill skill = new Skill(null, name, Proficiency.BEGINNER, null);
+                    skillService.saveSkill(user.getId(), skill);
+                    skillService.updateSkill(user.getId(), skill.getId(), new Skill(null, "", Proficiency.EXPERT, null));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Skill> skills = skillService.getAll(user.getId());
+        assertEquals(writers, skills.size());
+        assertTrue(skills.stream().allMatch(s -> s.getProficiency() == Proficiency.EXPERT));
+    }
+
+    @Test
+    void testUpdateIsOneSkillWriteAndIdempotent() {
+        Skill skill = new Skill(null, "Java", Proficiency.BEGINNER, null);
+        skillService.saveSkill(user.getId(), skill);
+
+        commandCounter.reset();
+        assertTrue(skillService.updateSkill(user.getId(), skill.getId(), new Skill(null, "", Proficiency.ADVANCED, null)));
+        assertTrue(skillService.updateSkill(user.getId(), skill.getId(), new Skill(null, "", Proficiency.ADVANCED, null)));
+        // One in-place $set on the skill (returning the old values) plus the skill-list version bump
+        // on the user; analytics increments run off the request thread and are left out
+        assertEquals(List.of("findAndModify:skills", "update:users", "findAndModify:skills", "update:users"),
+                commandCounter.getCommands().stream().filter(c -> !c.endsWith(":skill_analytics")).toList());
+
+        Skill stored = skillService.getSkillById(skill.getId());
+        assertEquals("Java", stored.getName());
+        assertEquals(Proficiency.ADVANCED, stored.getProficiency());
+    }
+
+    @Test
+    void testReplayedCreateDoesNotDuplicate() {
+        ObjectId skillId = new ObjectId();
+        skillService.saveSkill(user.getId(), new Skill(skillId, "Java", Proficiency.BEGINNER, null));
+        long version = skillService.getVersion(user.getId());
+        events.clear();
+        skillService.saveSkill(user.getId(), new Skill(skillId, "Kotlin", Proficiency.EXPERT, null));
+
+        assertEquals(1, skillService.getAll(user.getId()).size());
+        assertEquals("Java", skillService.getAll(user.getId()).get(0).getName());
+        // Nothing changed, so nothing is announced: analytics and streams would count the skill twice
+        assertEquals(version, skillService.getVersion(user.getId()));
+        assertEquals(0, events.stream(SkillChangedEvent.class).count());
+    }
+
+    @Test
+    void testCannotClaimAnotherUsersSkillId() {
+        Skill skill = new Skill(null, "Java", Proficiency.BEGINNER, null);
+        skillService.saveSkill(user.getId(), skill);
+        User other = new User();
+        other.setUsername("bob");
+        mongoTemplate.insert(other);
+
+        assertThrows(DuplicateKeyException.class,
+                () -> skillService.saveSkill(other.getId(), new Skill(skill.getId(), "Hijack", Proficiency.EXPERT, null)));
+        assertFalse(skillService.updateSkill(other.getId(), skill.getId(), new Skill(null, "Hijack", null, null)));
+        assertEquals("Java", skillService.getSkillById(skill.getId()).getName());
+    }
+
+    @Test
+    void testDeleteOnlyRemovesOwnedSkill() {
+        Skill skill = new Skill(null, "Java", Proficiency.BEGINNER, null);
+        skillService.saveSkill(user.getId(), skill);
+
+        skillService.deleteSkillById(skill.getId(), new ObjectId());
+        assertNotNull(skillService.getSkillById(skill.getId()));
+
+        skillService.deleteSkillById(skill.getId(), user.getId());
+        skillService.deleteSkillById(skill.getId(), user.getId());
+        assertNull(skillService.getSkillById(skill.getId()));
+    }
+
+    @Test
+    void testProficiencyPagesVisitLegacyValuesOnce() {
+        for (String stored : new String[]{"novice", "EXPERT", "Proficient", "guru", "BEGINNER"}) {
+            mongoTemplate.insert(new Document("userId", user.getId()).append("name", stored).append("proficiency", stored),
+                    mongoTemplate.getCollectionName(Skill.class));
+        }
+        // Every mappable value gets its rank, the unknown one is moved aside
+        assertEquals(5, skillRepository.normalizeProficiencies());
+        assertEquals(0, skillRepository.normalizeProficiencies());
+
+        List<String> visited = new ArrayList<>();
+        String after = null;
+        do {
+            SkillPage page = skillService.getPage(user.getId(), 1, after, "proficiency", null);
+            page.getItems().forEach(skill -> visited.add(skill.getName()));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        // The unknown level reads as null and sorts first; the rest follow the ladder
+        assertEquals(List.of("guru", "novice", "BEGINNER", "Proficient", "EXPERT"), visited);
+    }
+
+    @Test
+    void testProficiencyPagesFollowTheLadder() {
+        for (Proficiency proficiency : new Proficiency[]{Proficiency.EXPERT, Proficiency.BEGINNER,
+                Proficiency.ADVANCED, Proficiency.INTERMEDIATE}) {
+            skillService.saveSkill(user.getId(), new Skill(null, proficiency.getLabel(), proficiency, null));
+        }
+
+        List<Proficiency> visited = new ArrayList<>();
+        String after = null;
+        do {
+            SkillPage page = skillService.getPage(user.getId(), 1, after, "proficiency", Set.of("name"));
+            page.getItems().forEach(skill -> visited.add(Proficiency.parse(skill.getName())));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertEquals(List.of(Proficiency.values()), visited);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.skilltracker.service;
+
+import com.example.skilltracker.EmbeddedMongoConfiguration;
+import com.example.skilltracker.MongoCommandCounter;
+import com.example.skilltracker.model.Proficiency;
+import com.example.skilltracker.model.Skill;
+import com.example.skilltracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A long window so nothing flushes on its own while a test is looking
+@SpringBootTest(properties = {"skilltracker.write-buffer.enabled=true", "skilltracker.write-buffer.window-ms=600000",
+        "skilltracker.write-buffer.max-pending=2", "skilltracker.write-buffer.offer-timeout-ms=50"})
+@Import(EmbeddedMongoConfiguration.class)
+@RecordApplicationEvents
+class SkillWriteBufferTest {
+
+    @Autowired
+    private SkillService skillService;
+    @Autowired
+    private SkillWriteBuffer writeBuffer;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoCommandCounter commandCounter;
+    @Autowired
+    private ApplicationEvents events;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        writeBuffer.flush();
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Skill.class);
+        user = new User();
+        user.setUsername("erin");
+        mongoTemplate.insert(user);
+    }
+
+    @Test
+    void testRepeatedUpdatesAreReadBackAndFlushedAsOneWrite() {
+        Skill skill = new Skill(null, "Java", Proficiency.BEGINNER, null);
+        skillService.saveSkill(user.getId(), skill);
+        long version = skillService.getVersion(user.getId());
+        skillService.getAll(user.getId());
+
+        commandCounter.reset();
+        skillService.updateSkill(user.getId(), skill.getId(), new Skill(null, "", Proficiency.INTERMEDIATE, null));
+        skillService.updateSkill(user.getId(), skill.getId(), new Skill(null, "Java 17", null, null));
+        skillService.updateSkill(user.getId(), skill.getId(), new Skill(null, "", Proficiency.EXPERT, null));
+
+        // Only the first update checks that the skill still exists; the others merge into it
+        assertEquals(List.of("aggregate:skills"),
+                commandCounter.getCommands().stream().filter(c -> !c.endsWith(":skill_analytics")).toList());
+        commandCounter.reset();
+        Skill pending = skillService.getAll(user.getId()).get(0);
+        assertEquals("Java 17", pending.getName());
+        assertEquals(Proficiency.EXPERT, pending.getProficiency());
+        assertEquals(version + 3, skillService.getVersion(user.getId()));
+
+        writeBuffer.flush();
+
+        // One read of the current values for the change events, one bulk update, one version bump
+        assertEquals(List.of("find:skills", "update:skills", "update:users"),
+                commandCounter.getCommands().stream().filter(c -> !c.endsWith(":skill_analytics")).toList());
+        Skill stored = mongoTemplate.findById(skill.getId(), Skill.class);
+        assertEquals("Java 17", stored.getName());
+        assertEquals(Proficiency.EXPERT, stored.getProficiency());
+        assertEquals(version + 3, skillService.getVersion(user.getId()));
+    }
+
+    @Test
+    void testSkillsDeletedOnAnotherNodeAreNotUpdated() {
+        Skill cached = new Skill(null, "Java", Proficiency.BEGINNER, null);
+        Skill queued = new Skill(null, "Go", Proficiency.BEGINNER, null);
+        skillService.saveSkill(user.getId(), cached);
+        skillService.saveSkill(user.getId(), queued);
+        assertEquals(2, skillService.getAll(user.getId()).size());
+        Skill change = new Skill(null, "", Proficiency.EXPERT, null);
+        assertTrue(skillService.updateSkill(user.getId(), queued.getId(), change));
+
+        // Removed behind this node's back: the cached list still holds both
+        mongoTemplate.remove(cached);
+        mongoTemplate.remove(queued);
+        assertFalse(skillService.updateSkill(user.getId(), cached.getId(), change));
+
+        events.clear();
+        writeBuffer.flush();
+        assertEquals(0, events.stream(SkillChangedEvent.class).count());
+    }
+
+    @Test
+    void testFullBufferTurnsNewSkillsAway() {
+        Skill[] skills = new Skill[3];
+        for (int i = 0; i < skills.length; i++) {
+            skills[i] = new Skill(null, "skill-" + i, Proficiency.BEGINNER, null);
+            skillService.saveSkill(user.getId(), skills[i]);
+        }
+        Skill change = new Skill(null, "", Proficiency.ADVANCED, null);
+
+        skillService.updateSkill(user.getId(), skills[0].getId(), change);
+        skillService.updateSkill(user.getId(), skills[1].getId(), change);
+        // Merging into a queued skill needs no new slot
+        skillService.updateSkill(user.getId(), skills[0].getId(), change);
+        assertThrows(RejectedExecutionException.class,
+                () -> skillService.updateSkill(user.getId(), skills[2].getId(), change));
+
+        writeBuffer.flush();
+        skillService.updateSkill(user.getId(), skills[2].getId(), change);
+        assertEquals(1, writeBuffer.size());
+    }
+}
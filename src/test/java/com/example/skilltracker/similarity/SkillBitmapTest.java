@@ -0,0 +1,83 @@
+package com.example.skilltracker.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillBitmapTest {
+
+    @Test
+    void testMatchesASortedSetUnderRandomWrites() {
+        Random random = new Random(7);
+        SkillBitmap bitmap = new SkillBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Dense in the first chunk, sparse over the next few
+            int value = random.nextBoolean() ? random.nextInt(10_000) : random.nextInt(4 << 16);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(value), bitmap.remove(value));
+            } else {
+                assertEquals(expected.add(value), bitmap.add(value));
+            }
+        }
+        assertEquals(expected.size(), bitmap.cardinality());
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        assertEquals(new ArrayList<>(expected), values);
+        assertTrue(bitmap.contains(expected.first()));
+        assertFalse(bitmap.contains(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testChunkSwitchesToABitsetPastTheArrayLimitAndBack() {
+        SkillBitmap bitmap = new SkillBitmap();
+        for (int i = 0; i < SkillBitmap.ARRAY_MAX; i++) {
+            bitmap.add(i * 2);
+        }
+        assertFalse(bitmap.isBitsetChunk(0));
+
+        bitmap.add(1);
+        assertTrue(bitmap.isBitsetChunk(0));
+        assertTrue(bitmap.contains(1));
+
+        bitmap.remove(1);
+        assertFalse(bitmap.isBitsetChunk(0));
+        assertEquals(SkillBitmap.ARRAY_MAX, bitmap.cardinality());
+        assertTrue(bitmap.contains(SkillBitmap.ARRAY_MAX * 2 - 2));
+
+        for (int i = 0; i < SkillBitmap.ARRAY_MAX; i++) {
+            bitmap.remove(i * 2);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void testAccumulateAddsTheWeightPerValueOfOneChunk() {
+        SkillBitmap dense = new SkillBitmap();
+        SkillBitmap sparse = new SkillBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            dense.add(i);
+        }
+        sparse.add(5);
+        sparse.add(70_000);
+        int[] counters = new int[1 << 16];
+
+        dense.accumulate(0, counters, 2);
+        sparse.accumulate(0, counters, 3);
+        assertEquals(5, counters[5]);
+        assertEquals(2, counters[9_999]);
+        assertEquals(0, counters[10_000]);
+
+        int[] second = new int[1 << 16];
+        sparse.accumulate(1, second, 1);
+        assertEquals(1, second[70_000 - (1 << 16)]);
+        dense.accumulate(1, second, 1);
+        assertEquals(1, Arrays.stream(second).sum());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.skilltracker.similarity;
+
+import com.example.skilltracker.model.Proficiency;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillSimilarityIndexTest {
+
+    private final SkillSimilarityIndex index = new SkillSimilarityIndex();
+
+    private ObjectId skill(ObjectId user, String name, Proficiency proficiency) {
+        ObjectId id = new ObjectId();
+        index.put(user, id, name, proficiency);
+        return id;
+    }
+
+    @Test
+    void testJaccardAndWeightedRanking() {
+        ObjectId alice = new ObjectId();
+        ObjectId bob = new ObjectId();
+        ObjectId carol = new ObjectId();
+        skill(alice, "Java", Proficiency.EXPERT);
+        skill(alice, "Go", Proficiency.EXPERT);
+        skill(bob, "java", Proficiency.BEGINNER);
+        skill(bob, "GO", Proficiency.BEGINNER);
+        skill(carol, "Java", Proficiency.EXPERT);
+        skill(carol, "Rust", Proficiency.EXPERT);
+
+        List<SkillSimilarityIndex.Match> jaccard = index.similar(alice, 10, false);
+        assertEquals(List.of(bob, carol), jaccard.stream().map(SkillSimilarityIndex.Match::userId).toList());
+        assertEquals(1.0, jaccard.get(0).score());
+        assertEquals(2, jaccard.get(0).shared());
+        assertEquals(1.0 / 3, jaccard.get(1).score(), 1e-9);
+
+        // Carol: 4 / (8 + 8 - 4); Bob shares both skills but only as a beginner: 2 / (8 + 2 - 2)
+        List<SkillSimilarityIndex.Match> weighted = index.similar(alice, 10, true);
+        assertEquals(List.of(carol, bob), weighted.stream().map(SkillSimilarityIndex.Match::userId).toList());
+        assertEquals(1.0 / 3, weighted.get(0).score(), 1e-9);
+        assertEquals(0.25, weighted.get(1).score(), 1e-9);
+
+        assertEquals(1, index.similar(alice, 1, false).size());
+        assertEquals(List.of(), index.similar(new ObjectId(), 10, false));
+    }
+
+    @Test
+    void testExpertsRankByCoverageThenLevel() {
+        ObjectId alice = new ObjectId();
+        ObjectId bob = new ObjectId();
+        ObjectId carol = new ObjectId();
+        skill(alice, "Java", Proficiency.EXPERT);
+        skill(bob, "Java", Proficiency.BEGINNER);
+        skill(bob, "Kotlin", Proficiency.BEGINNER);
+        skill(carol, "Kotlin", Proficiency.ADVANCED);
+        skill(carol, "Java", null);
+
+        List<SkillSimilarityIndex.Match> experts = index.experts(List.of("java", "KOTLIN", "Cobol"), 10);
+        assertEquals(List.of(carol, bob, alice), experts.stream().map(SkillSimilarityIndex.Match::userId).toList());
+        assertEquals(2, experts.get(0).shared());
+        assertEquals(4.0 / 12, experts.get(0).score(), 1e-9);
+        assertEquals(List.of(), index.experts(List.of("Cobol"), 10));
+    }
+
+    @Test
+    void testWritesAreIdempotentAndKeepTheHighestLevel() {
+        ObjectId alice = new ObjectId();
+        ObjectId bob = new ObjectId();
+        ObjectId first = skill(alice, "Java", Proficiency.BEGINNER);
+        ObjectId second = skill(alice, "java", Proficiency.EXPERT);
+        skill(bob, "Java", Proficiency.EXPERT);
+        index.put(alice, second, "java", Proficiency.EXPERT);
+
+        // Two Java entries still count as one skill, at the higher level
+        assertEquals(1.0, index.similar(alice, 10, true).get(0).score(), 1e-9);
+
+        index.remove(alice, second);
+        index.remove(alice, second);
+        assertEquals(0.25, index.similar(alice, 10, true).get(0).score(), 1e-9);
+
+        index.put(alice, first, "Go", Proficiency.BEGINNER);
+        assertEquals(List.of(), index.similar(alice, 10, false));
+        assertEquals(2, index.skillCount());
+
+        index.removeUser(bob);
+        assertEquals(List.of(), index.experts(List.of("Java"), 10));
+        assertEquals(1, index.userCount());
+    }
+
+    @Test
+    void testResultsMergeAcrossUserChunks() {
+        ObjectId target = new ObjectId();
+        skill(target, "Java", Proficiency.EXPERT);
+        skill(target, "Go", Proficiency.EXPERT);
+        for (int i = 0; i < 150_000; i++) {
+            skill(new ObjectId(), i % 2 == 0 ? "Java" : "Rust", Proficiency.INTERMEDIATE);
+        }
+        // Numbered in the third chunk
+        ObjectId last = new ObjectId();
+        skill(last, "Go", Proficiency.EXPERT);
+        skill(last, "Java", Proficiency.EXPERT);
+
+        List<SkillSimilarityIndex.Match> similar = index.similar(target, 3, false);
+        assertEquals(last, similar.get(0).userId());
+        assertEquals(1.0, similar.get(0).score());
+        assertEquals(0.5, similar.get(1).score());
+        assertEquals(3, similar.size());
+        assertTrue(index.bitmapBytes() > 0);
+    }
+}